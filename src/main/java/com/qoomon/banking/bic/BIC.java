@@ -25,7 +25,7 @@ import java.util.Optional;
  */
 public class BIC {
 
-    public static SwiftNotation NOTATION = new SwiftNotation("4!a2!a2!c[3!c]");
+    public static SwiftNotation NOTATION = SwiftNotation.of("4!a2!a2!c[3!c]");
 
     private final String institutionCode;
     private final String countryCode;
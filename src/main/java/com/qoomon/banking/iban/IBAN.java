@@ -23,7 +23,7 @@ import java.util.List;
  */
 public class IBAN {
 
-    public static final SwiftNotation NOTATION = new SwiftNotation("2!a2!n30c");
+    public static final SwiftNotation NOTATION = SwiftNotation.of("2!a2!n30c");
 
     public static final int IBAN_CHECKSUM_DIVIDEND = 97;
     public static final int IBAN_CHECKSUM_CHARACTER_NUMBER_OFFSET = 55;
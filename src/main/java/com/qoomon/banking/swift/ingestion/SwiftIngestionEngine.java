@@ -0,0 +1,140 @@
+package com.qoomon.banking.swift.ingestion;
+
+import com.google.common.base.Preconditions;
+import com.qoomon.banking.swift.message.SwiftMessage;
+import com.qoomon.banking.swift.message.SwiftMessageReader;
+import com.qoomon.banking.swift.submessage.Page;
+import com.qoomon.banking.swift.submessage.PageReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Parses message files concurrently, each file on its own virtual thread.
+ * Messages, pages and per file errors are passed to a {@link SwiftIngestionSink}.
+ * <p>
+ * Example
+ * <pre>
+ * SwiftIngestionEngine engine = new SwiftIngestionEngine(64);
+ * engine.setPageReader("940", MT940PageReader::new);
+ * engine.ingest(directory, sink);
+ * </pre>
+ */
+public class SwiftIngestionEngine {
+
+    private final Semaphore fileSlots;
+
+    private final Map<String, Function<Reader, ? extends PageReader<?>>> pageReaderFactoryMap = new ConcurrentHashMap<>();
+
+
+    /**
+     * @param maxConcurrentFiles maximum number of files parsed at the same time
+     */
+    public SwiftIngestionEngine(int maxConcurrentFiles) {
+
+        Preconditions.checkArgument(maxConcurrentFiles > 0, "maxConcurrentFiles must be positive");
+
+        this.fileSlots = new Semaphore(maxConcurrentFiles);
+    }
+
+    /**
+     * Text blocks of messages of given type are read as pages in addition.
+     *
+     * @param messageType       message type e.g. "940"
+     * @param pageReaderFactory creates a page reader for a text block e.g. MT940PageReader::new
+     */
+    public void setPageReader(String messageType, Function<Reader, ? extends PageReader<?>> pageReaderFactory) {
+
+        Preconditions.checkArgument(messageType != null, "messageType can't be null");
+        Preconditions.checkArgument(pageReaderFactory != null, "pageReaderFactory can't be null");
+
+        pageReaderFactoryMap.put(messageType, pageReaderFactory);
+    }
+
+    /**
+     * Ingests all regular files of a directory, subdirectories are not included.
+     *
+     * @param directory directory of message files
+     * @param sink      result sink
+     * @throws IOException          if directory can not be listed
+     * @throws InterruptedException if interrupted while waiting for files to complete
+     */
+    public void ingest(Path directory, SwiftIngestionSink sink) throws IOException, InterruptedException {
+        List<Path> files;
+        try (Stream<Path> directoryStream = Files.list(directory)) {
+            files = directoryStream.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+        ingest(files, sink);
+    }
+
+    /**
+     * Returns once all files have been ingested.
+     *
+     * @param files message files
+     * @param sink  result sink
+     * @throws InterruptedException if interrupted while waiting for files to complete
+     */
+    public void ingest(Collection<Path> files, SwiftIngestionSink sink) throws InterruptedException {
+
+        Preconditions.checkArgument(files != null, "files can't be null");
+        Preconditions.checkArgument(sink != null, "sink can't be null");
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Path file : files) {
+                fileSlots.acquire();
+                executor.execute(() -> {
+                    try {
+                        ingestFile(file, sink);
+                    } finally {
+                        fileSlots.release();
+                    }
+                });
+            }
+        }
+    }
+
+    private void ingestFile(Path file, SwiftIngestionSink sink) {
+        int messageIndex = 0;
+        try (InputStream fileStream = Files.newInputStream(file);
+             SwiftMessageReader messageReader = new SwiftMessageReader(fileStream)) {
+            SwiftMessage message;
+            while ((message = messageReader.read()) != null) {
+                sink.onMessage(file, messageIndex, message);
+                readPages(file, messageIndex, message, sink);
+                messageIndex++;
+            }
+        } catch (Exception e) {
+            sink.onError(file, e);
+            return;
+        }
+        sink.onFileComplete(file, messageIndex);
+    }
+
+    private void readPages(Path file, int messageIndex, SwiftMessage message, SwiftIngestionSink sink) throws Exception {
+        Function<Reader, ? extends PageReader<?>> pageReaderFactory =
+                pageReaderFactoryMap.get(message.getApplicationHeaderBlock().getMessageType());
+        if (pageReaderFactory == null) {
+            return;
+        }
+        PageReader<?> pageReader = pageReaderFactory.apply(new StringReader(message.getTextBlock().getText()));
+        int pageIndex = 0;
+        Page page;
+        while ((page = pageReader.read()) != null) {
+            sink.onPage(file, messageIndex, pageIndex++, page);
+        }
+    }
+}
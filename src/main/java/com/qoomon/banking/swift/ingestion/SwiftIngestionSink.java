@@ -0,0 +1,34 @@
+package com.qoomon.banking.swift.ingestion;
+
+import com.qoomon.banking.swift.message.SwiftMessage;
+import com.qoomon.banking.swift.submessage.Page;
+
+import java.nio.file.Path;
+
+/**
+ * Receives the results of {@link SwiftIngestionEngine}.
+ * <p>
+ * Files are ingested concurrently, so implementations have to be thread safe.
+ * Results of one file are passed in file order by a single thread.
+ */
+public interface SwiftIngestionSink {
+
+    void onMessage(Path file, int messageIndex, SwiftMessage message);
+
+    /**
+     * Called for each page of messages with a registered page reader, after {@link #onMessage}.
+     */
+    default void onPage(Path file, int messageIndex, int pageIndex, Page page) {
+    }
+
+    /**
+     * Called once if a file can not be read or parsed, no more results of that file follow.
+     */
+    void onError(Path file, Exception exception);
+
+    /**
+     * Called once all messages of a file have been passed.
+     */
+    default void onFileComplete(Path file, int messageCount) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.qoomon.banking.swift.message;
+
+import com.google.common.base.Preconditions;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link CharSequence} view on ASCII bytes, e.g. of a memory mapped file. Bytes are not decoded or copied.
+ */
+final class AsciiByteSequence implements CharSequence {
+
+    private final ByteBuffer bytes;
+
+    private final int start;
+
+    private final int end;
+
+
+    AsciiByteSequence(ByteBuffer bytes) {
+        this(bytes, 0, bytes.limit());
+    }
+
+    private AsciiByteSequence(ByteBuffer bytes, int start, int end) {
+        this.bytes = bytes;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+        Preconditions.checkElementIndex(index, length());
+        return (char) (bytes.get(start + index) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        Preconditions.checkPositionIndexes(start, end, length());
+        return new AsciiByteSequence(bytes, this.start + start, this.start + end);
+    }
+
+    @Override
+    public String toString() {
+        byte[] result = new byte[length()];
+        bytes.get(start, result);
+        return new String(result, StandardCharsets.ISO_8859_1);
+    }
+}
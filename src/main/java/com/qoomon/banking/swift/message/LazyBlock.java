@@ -0,0 +1,66 @@
+package com.qoomon.banking.swift.message;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.qoomon.banking.swift.message.block.GeneralBlock;
+import com.qoomon.banking.swift.message.block.SwiftBlock;
+import com.qoomon.banking.swift.message.exception.SwiftMessageParseException;
+import com.qoomon.banking.swift.message.exception.UncheckedSwiftMessageParseException;
+
+import static com.qoomon.banking.swift.message.block.BlockUtils.swiftTextOf;
+
+/**
+ * Block, which may be decoded from its general block on first access.
+ */
+final class LazyBlock<T extends SwiftBlock> {
+
+    interface Decoder<T> {
+        T decode(GeneralBlock block) throws Exception;
+    }
+
+    // null if block was decoded eagerly
+    private final GeneralBlock generalBlock;
+
+    private final Supplier<T> block;
+
+
+    private LazyBlock(GeneralBlock generalBlock, Supplier<T> block) {
+        this.generalBlock = generalBlock;
+        this.block = block;
+    }
+
+    static <T extends SwiftBlock> LazyBlock<T> of(T block) {
+        return block != null ? new LazyBlock<>(null, Suppliers.ofInstance(block)) : null;
+    }
+
+    /**
+     * @param generalBlock block to decode
+     * @param decoder      decodes the block on first access
+     * @param lineNumber   line number to report on decoding errors
+     * @return lazy block
+     */
+    static <T extends SwiftBlock> LazyBlock<T> of(GeneralBlock generalBlock, Decoder<T> decoder, int lineNumber) {
+        return new LazyBlock<>(generalBlock, Suppliers.memoize(() -> {
+            try {
+                return decoder.decode(generalBlock);
+            } catch (Exception e) {
+                throw new UncheckedSwiftMessageParseException(new SwiftMessageParseException(e.getMessage(), lineNumber, e));
+            }
+        }));
+    }
+
+    /**
+     * @return decoded block
+     * @throws UncheckedSwiftMessageParseException if block can not be decoded
+     */
+    T get() {
+        return block.get();
+    }
+
+    /**
+     * @return swift text, general blocks are returned as read without decoding them
+     */
+    String getSwiftText() {
+        return generalBlock != null ? swiftTextOf(generalBlock) : swiftTextOf(block.get());
+    }
+}
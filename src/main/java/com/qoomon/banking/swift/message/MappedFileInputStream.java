@@ -0,0 +1,115 @@
+package com.qoomon.banking.swift.message;
+
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a file through memory mapped windows, so file content is served from page cache instead of a heap copy.
+ * Files larger than one window (e.g. above 2GB) are mapped window by window.
+ * <p>
+ * Only the current window is referenced, it is dropped when the next window is mapped or the stream is closed.
+ * A {@link MappedByteBuffer} can't be unmapped explicitly, so the mapping itself is released once garbage collected.
+ */
+final class MappedFileInputStream extends InputStream {
+
+    static final long DEFAULT_WINDOW_SIZE = 256L * 1024 * 1024;
+
+    private final FileChannel fileChannel;
+
+    private final long fileSize;
+
+    private final long windowSize;
+
+    private MappedByteBuffer window = null;
+
+    // file position of window start
+    private long windowPosition;
+
+
+    MappedFileInputStream(Path file, long position, long windowSize) throws IOException {
+
+        Preconditions.checkArgument(file != null, "file can't be null");
+        Preconditions.checkArgument(position >= 0, "position can't be negative");
+        Preconditions.checkArgument(windowSize > 0 && windowSize <= Integer.MAX_VALUE, "windowSize must be between 1 and %s", Integer.MAX_VALUE);
+
+        this.fileChannel = FileChannel.open(file, StandardOpenOption.READ);
+        this.fileSize = fileChannel.size();
+        this.windowSize = windowSize;
+        this.windowPosition = position;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureWindowRemaining()) {
+            return -1;
+        }
+        return window.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        Preconditions.checkPositionIndexes(offset, offset + length, bytes.length);
+        if (length == 0) {
+            return 0;
+        }
+        if (!ensureWindowRemaining()) {
+            return -1;
+        }
+        int readBytes = Math.min(length, window.remaining());
+        window.get(bytes, offset, readBytes);
+        return readBytes;
+    }
+
+    @Override
+    public long skip(long count) throws IOException {
+        long skipped = Math.max(0, Math.min(count, fileSize - position()));
+        long targetPosition = position() + skipped;
+        if (window != null && targetPosition < windowPosition + window.limit()) {
+            window.position((int) (targetPosition - windowPosition));
+        } else {
+            window = null;
+            windowPosition = targetPosition;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, fileSize - position());
+    }
+
+    /**
+     * @return current file position
+     */
+    long position() {
+        return window == null ? windowPosition : windowPosition + window.position();
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        fileChannel.close();
+    }
+
+    private boolean ensureWindowRemaining() throws IOException {
+        if (window != null && window.hasRemaining()) {
+            return true;
+        }
+        if (window != null) {
+            windowPosition += window.limit();
+            window = null;
+        }
+        if (windowPosition >= fileSize) {
+            return false;
+        }
+        long mappingSize = Math.min(windowSize, fileSize - windowPosition);
+        window = fileChannel.map(FileChannel.MapMode.READ_ONLY, windowPosition, mappingSize);
+        return true;
+    }
+}
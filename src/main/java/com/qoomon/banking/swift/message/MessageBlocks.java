@@ -0,0 +1,114 @@
+package com.qoomon.banking.swift.message;
+
+import com.qoomon.banking.swift.message.block.ApplicationHeaderBlock;
+import com.qoomon.banking.swift.message.block.BasicHeaderBlock;
+import com.qoomon.banking.swift.message.block.GeneralBlock;
+import com.qoomon.banking.swift.message.exception.SwiftMessageParseException;
+
+/**
+ * Undecoded blocks of a single message.
+ * <p>
+ * Errors detected while reading the blocks are kept as pending exception,
+ * so they can be reported in the same order as if each block had been decoded right away.
+ */
+final class MessageBlocks {
+
+    private static final int MAX_BLOCK_COUNT = 6;
+
+    private final GeneralBlock[] blocks = new GeneralBlock[MAX_BLOCK_COUNT];
+
+    // line number to report on block decoding errors
+    private final int[] blockLineNumbers = new int[MAX_BLOCK_COUNT];
+
+    // line number of opening bracket
+    private final int[] blockStartLineNumbers = new int[MAX_BLOCK_COUNT];
+
+    private int blockCount = 0;
+
+    // line number to report on message completion errors
+    private int endLineNumber = 0;
+
+    // text offset behind the last block
+    private long endOffset = 0;
+
+    private SwiftMessageParseException pendingException = null;
+
+    // number of blocks to decode before pending exception is thrown
+    private int pendingExceptionBlockCount = 0;
+
+    // header blocks, if already decoded
+    private BasicHeaderBlock basicHeaderBlock = null;
+    private ApplicationHeaderBlock applicationHeaderBlock = null;
+
+
+    void add(GeneralBlock block, int lineNumber, int startLineNumber) {
+        blocks[blockCount] = block;
+        blockLineNumbers[blockCount] = lineNumber;
+        blockStartLineNumbers[blockCount] = startLineNumber;
+        blockCount++;
+    }
+
+    void fail(SwiftMessageParseException exception, int decodableBlockCount) {
+        this.pendingException = exception;
+        this.pendingExceptionBlockCount = decodableBlockCount;
+    }
+
+    int getBlockCount() {
+        return blockCount;
+    }
+
+    GeneralBlock getBlock(int index) {
+        return blocks[index];
+    }
+
+    int getBlockLineNumber(int index) {
+        return blockLineNumbers[index];
+    }
+
+    int getBlockStartLineNumber(int index) {
+        return blockStartLineNumbers[index];
+    }
+
+    void setHeaderBlocks(BasicHeaderBlock basicHeaderBlock, ApplicationHeaderBlock applicationHeaderBlock) {
+        this.basicHeaderBlock = basicHeaderBlock;
+        this.applicationHeaderBlock = applicationHeaderBlock;
+    }
+
+    BasicHeaderBlock getBasicHeaderBlock() {
+        return basicHeaderBlock;
+    }
+
+    ApplicationHeaderBlock getApplicationHeaderBlock() {
+        return applicationHeaderBlock;
+    }
+
+    int getEndLineNumber() {
+        return endLineNumber;
+    }
+
+    void setEndLineNumber(int endLineNumber) {
+        this.endLineNumber = endLineNumber;
+    }
+
+    long getEndOffset() {
+        return endOffset;
+    }
+
+    void setEndOffset(long endOffset) {
+        this.endOffset = endOffset;
+    }
+
+    boolean isFailed() {
+        return pendingException != null;
+    }
+
+    /**
+     * @param decodedBlockCount number of blocks decoded so far
+     * @throws SwiftMessageParseException if pending exception is due
+     */
+    void ensureNoPendingException(int decodedBlockCount) throws SwiftMessageParseException {
+        if (pendingException != null && decodedBlockCount >= pendingExceptionBlockCount) {
+            throw pendingException;
+        }
+    }
+}
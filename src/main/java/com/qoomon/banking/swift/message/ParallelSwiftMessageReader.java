@@ -0,0 +1,137 @@
+package com.qoomon.banking.swift.message;
+
+import com.google.common.base.Preconditions;
+import com.qoomon.banking.swift.message.exception.SwiftMessageParseException;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reads all messages of a text in parallel.
+ * <p>
+ * First the message boundaries are determined by {@link SwiftMessageBoundaryScanner},
+ * afterwards each message is parsed by its own task. Messages are returned in text order.
+ */
+public class ParallelSwiftMessageReader {
+
+    private final CharSequence text;
+
+    private final Executor executor;
+
+    // text is a view on file bytes, see SwiftBlockReader#setAsciiOnly(boolean)
+    private final boolean asciiOnly;
+
+
+    public ParallelSwiftMessageReader(CharSequence text) {
+        this(text, ForkJoinPool.commonPool());
+    }
+
+    public ParallelSwiftMessageReader(CharSequence text, Executor executor) {
+        this(text, executor, false);
+    }
+
+    private ParallelSwiftMessageReader(CharSequence text, Executor executor, boolean asciiOnly) {
+
+        Preconditions.checkArgument(text != null, "text can't be null");
+        Preconditions.checkArgument(executor != null, "executor can't be null");
+
+        this.text = text;
+        this.executor = executor;
+        this.asciiOnly = asciiOnly;
+    }
+
+    /**
+     * Opens a reader on a memory mapped file. The file is read as ASCII text,
+     * non ASCII bytes are reported by {@link #readAll()} as parse error of the containing message.
+     *
+     * @param file     swift message file, at most 2GB, for larger files use {@link SwiftMessageReader#open(Path)}
+     * @param executor executor to parse messages
+     * @return reader
+     * @throws IOException if file can not be read
+     */
+    public static ParallelSwiftMessageReader open(Path file, Executor executor) throws IOException {
+        MappedByteBuffer fileBuffer;
+        try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = fileChannel.size();
+            Preconditions.checkArgument(fileSize <= Integer.MAX_VALUE, "file size exceeds 2GB, was %s bytes", fileSize);
+            fileBuffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+        }
+        return new ParallelSwiftMessageReader(new AsciiByteSequence(fileBuffer), executor, true);
+    }
+
+    public static ParallelSwiftMessageReader open(Path file) throws IOException {
+        return open(file, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parses all messages. Text offsets are int values, so the text can't exceed 2GB,
+     * see {@link #open(Path, Executor)}.
+     * <p>
+     * After a parse error, queued messages behind the failed message are not parsed anymore.
+     *
+     * @return messages in text order
+     * @throws SwiftMessageParseException of the first invalid message in text order
+     */
+    public List<SwiftMessage> readAll() throws SwiftMessageParseException {
+        List<SwiftMessageRange> messageRanges = SwiftMessageBoundaryScanner.scan(text);
+
+        // messages behind are skipped, messages in front are still parsed to report the first error
+        AtomicInteger failedMessageIndex = new AtomicInteger(Integer.MAX_VALUE);
+        List<CompletableFuture<SwiftMessage>> messageFutures = new ArrayList<>(messageRanges.size());
+        for (int messageIndex = 0; messageIndex < messageRanges.size(); messageIndex++) {
+            int taskMessageIndex = messageIndex;
+            SwiftMessageRange messageRange = messageRanges.get(messageIndex);
+            messageFutures.add(CompletableFuture.supplyAsync(() -> {
+                if (taskMessageIndex > failedMessageIndex.get()) {
+                    return null;
+                }
+                try {
+                    return read(messageRange);
+                } catch (RuntimeException e) {
+                    failedMessageIndex.accumulateAndGet(taskMessageIndex, Math::min);
+                    throw e;
+                }
+            }, executor));
+        }
+
+        List<SwiftMessage> result = new ArrayList<>(messageRanges.size());
+        for (int messageIndex = 0; messageIndex < messageFutures.size(); messageIndex++) {
+            SwiftMessage message;
+            try {
+                message = messageFutures.get(messageIndex).join();
+            } catch (CompletionException e) {
+                // skip parsing of remaining messages
+                messageFutures.forEach(messageFuture -> messageFuture.cancel(false));
+                if (e.getCause() instanceof SwiftMessageParseException) {
+                    throw (SwiftMessageParseException) e.getCause();
+                }
+                throw new SwiftMessageParseException(messageRanges.get(messageIndex).getLineNumber(), e.getCause());
+            }
+            if (message != null) {
+                result.add(message);
+            }
+        }
+        return result;
+    }
+
+    private SwiftMessage read(SwiftMessageRange messageRange) {
+        CharSequence messageText = text.subSequence(messageRange.getStart(), messageRange.getEnd());
+        SwiftMessageReader messageReader = new SwiftMessageReader(messageText, messageRange.getLineNumber());
+        messageReader.setAsciiOnly(asciiOnly);
+        try {
+            return messageReader.read();
+        } catch (SwiftMessageParseException e) {
+            throw new CompletionException(e);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.qoomon.banking.swift.message;
+
+import com.google.common.base.Preconditions;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the items of a reader on demand. Items are read only as requested by the subscriber,
+ * so a slow subscriber throttles reading.
+ * <p>
+ * A reader can be read once only, therefore only one subscriber is supported.
+ *
+ * @param <T> item type
+ * @see SwiftMessageReader#publisher(Executor)
+ * @see com.qoomon.banking.swift.submessage.PageReader#publisher(Executor)
+ */
+public final class ReaderPublisher<T> implements Flow.Publisher<T> {
+
+    private final Callable<T> reader;
+
+    private final Closeable resource;
+
+    private final Executor executor;
+
+    private final AtomicBoolean subscribed = new AtomicBoolean(false);
+
+
+    /**
+     * @param reader   returns next item or null at the end
+     * @param resource closed on completion, error or cancellation
+     * @param executor executor to read items and signal the subscriber
+     */
+    public ReaderPublisher(Callable<T> reader, Closeable resource, Executor executor) {
+
+        Preconditions.checkArgument(reader != null, "reader can't be null");
+        Preconditions.checkArgument(resource != null, "resource can't be null");
+        Preconditions.checkArgument(executor != null, "executor can't be null");
+
+        this.reader = reader;
+        this.resource = resource;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Preconditions.checkNotNull(subscriber, "subscriber can't be null");
+
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("publisher supports one subscriber only"));
+            return;
+        }
+
+        subscriber.onSubscribe(new ReaderSubscription(subscriber));
+    }
+
+    private class ReaderSubscription implements Flow.Subscription, Runnable {
+
+        private final Flow.Subscriber<? super T> subscriber;
+
+        private final AtomicLong demand = new AtomicLong();
+
+        // number of pending drain requests
+        private final AtomicInteger pendingDrains = new AtomicInteger();
+
+        private volatile boolean cancelled = false;
+
+        private volatile Throwable requestError = null;
+
+        private boolean terminated = false;
+
+
+        ReaderSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                requestError = new IllegalArgumentException("requested items must be positive, but was " + n);
+            } else {
+                demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        private void drain() {
+            if (pendingDrains.getAndIncrement() == 0) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int drains = 1;
+            while (true) {
+                if (!terminated) {
+                    readRequestedItems();
+                }
+                drains = pendingDrains.addAndGet(-drains);
+                if (drains == 0) {
+                    return;
+                }
+            }
+        }
+
+        private void readRequestedItems() {
+            long requested = demand.get();
+            long emitted = 0;
+            while (true) {
+                if (cancelled) {
+                    terminate();
+                    return;
+                }
+                if (requestError != null) {
+                    terminate();
+                    subscriber.onError(requestError);
+                    return;
+                }
+                if (emitted == requested) {
+                    break;
+                }
+
+                T item;
+                try {
+                    item = reader.call();
+                } catch (Exception e) {
+                    terminate();
+                    subscriber.onError(e);
+                    return;
+                }
+                if (item == null) {
+                    terminate();
+                    subscriber.onComplete();
+                    return;
+                }
+                try {
+                    subscriber.onNext(item);
+                } catch (Throwable e) {
+                    // subscriber must not throw, subscription is considered cancelled then, see rule 2.13
+                    cancelled = true;
+                    terminate();
+                    return;
+                }
+                emitted++;
+            }
+
+            if (requested != Long.MAX_VALUE) {
+                demand.addAndGet(-emitted);
+            }
+        }
+
+        private void terminate() {
+            terminated = true;
+            try {
+                resource.close();
+            } catch (IOException e) {
+                // reading is done anyway
+            }
+        }
+    }
+}
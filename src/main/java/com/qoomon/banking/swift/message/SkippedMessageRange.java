@@ -0,0 +1,60 @@
+package com.qoomon.banking.swift.message;
+
+import com.google.common.base.Preconditions;
+import com.qoomon.banking.swift.message.exception.SwiftMessageParseException;
+
+/**
+ * Text range skipped by a resilient reader due to a parse error.
+ *
+ * @see SwiftMessageReader#setResilient(boolean)
+ */
+public class SkippedMessageRange {
+
+    private final long startOffset;
+
+    private final long endOffset;
+
+    private final SwiftMessageParseException exception;
+
+
+    public SkippedMessageRange(long startOffset, long endOffset, SwiftMessageParseException exception) {
+
+        Preconditions.checkArgument(startOffset >= 0, "startOffset can't be negative");
+        Preconditions.checkArgument(endOffset >= startOffset, "endOffset can't be lower than startOffset");
+        Preconditions.checkArgument(exception != null, "exception can't be null");
+
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+        this.exception = exception;
+    }
+
+    /**
+     * @return text offset of range start, inclusive
+     */
+    public long getStartOffset() {
+        return startOffset;
+    }
+
+    /**
+     * @return text offset of range end, exclusive
+     */
+    public long getEndOffset() {
+        return endOffset;
+    }
+
+    /**
+     * @return line number of the parse error
+     */
+    public int getLineNumber() {
+        return exception.getLineNumber();
+    }
+
+    public SwiftMessageParseException getException() {
+        return exception;
+    }
+
+    @Override
+    public String toString() {
+        return "SkippedMessageRange[" + startOffset + ".." + endOffset + ": " + exception.getMessage() + "]";
+    }
+}
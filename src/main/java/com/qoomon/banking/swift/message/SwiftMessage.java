@@ -108,22 +108,22 @@ public class SwiftMessage {
     /**
      * {3:} User Header Block
      */
-    private final Optional<UserHeaderBlock> userHeaderBlock;
+    private final LazyBlock<UserHeaderBlock> userHeaderBlock;
 
     /**
      * {4:} Text Block
      */
-    private final TextBlock textBlock;
+    private final LazyBlock<TextBlock> textBlock;
 
     /**
      * {5:} User Trailer Block
      */
-    private final Optional<UserTrailerBlock> userTrailerBlock;
+    private final LazyBlock<UserTrailerBlock> userTrailerBlock;
 
     /**
      * {S:} System Trailer Block
      */
-    private final Optional<SystemTrailerBlock> systemTrailerBlock;
+    private final LazyBlock<SystemTrailerBlock> systemTrailerBlock;
 
 
     public SwiftMessage(BasicHeaderBlock basicHeaderBlock,
@@ -132,6 +132,24 @@ public class SwiftMessage {
                         TextBlock textBlock,
                         UserTrailerBlock userTrailerBlock,
                         SystemTrailerBlock systemTrailerBlock) {
+        this(basicHeaderBlock,
+                applicationHeaderBlock,
+                LazyBlock.of(userHeaderBlock),
+                LazyBlock.of(textBlock),
+                LazyBlock.of(userTrailerBlock),
+                LazyBlock.of(systemTrailerBlock));
+    }
+
+    /**
+     * Optional blocks and text block may be decoded on first access,
+     * decoding errors are thrown as {@link com.qoomon.banking.swift.message.exception.UncheckedSwiftMessageParseException}.
+     */
+    SwiftMessage(BasicHeaderBlock basicHeaderBlock,
+                 ApplicationHeaderBlock applicationHeaderBlock,
+                 LazyBlock<UserHeaderBlock> userHeaderBlock,
+                 LazyBlock<TextBlock> textBlock,
+                 LazyBlock<UserTrailerBlock> userTrailerBlock,
+                 LazyBlock<SystemTrailerBlock> systemTrailerBlock) {
 
         Preconditions.checkArgument(basicHeaderBlock != null, "basicHeaderBlock can't be null");
         Preconditions.checkArgument(applicationHeaderBlock != null, "applicationHeaderBlock can't be null");
@@ -139,10 +157,10 @@ public class SwiftMessage {
 
         this.basicHeaderBlock = basicHeaderBlock;
         this.applicationHeaderBlock = applicationHeaderBlock;
-        this.userHeaderBlock = Optional.ofNullable(userHeaderBlock);
+        this.userHeaderBlock = userHeaderBlock;
         this.textBlock = textBlock;
-        this.userTrailerBlock = Optional.ofNullable(userTrailerBlock);
-        this.systemTrailerBlock = Optional.ofNullable(systemTrailerBlock);
+        this.userTrailerBlock = userTrailerBlock;
+        this.systemTrailerBlock = systemTrailerBlock;
     }
 
     public BasicHeaderBlock getBasicHeaderBlock() {
@@ -154,34 +172,34 @@ public class SwiftMessage {
     }
 
     public Optional<UserHeaderBlock> getUserHeaderBlock() {
-        return userHeaderBlock;
+        return Optional.ofNullable(userHeaderBlock).map(LazyBlock::get);
     }
 
     public TextBlock getTextBlock() {
-        return textBlock;
+        return textBlock.get();
     }
 
     public Optional<UserTrailerBlock> getUserTrailerBlock() {
-        return userTrailerBlock;
+        return Optional.ofNullable(userTrailerBlock).map(LazyBlock::get);
     }
 
     public Optional<SystemTrailerBlock> getSystemTrailerBlock() {
-        return systemTrailerBlock;
+        return Optional.ofNullable(systemTrailerBlock).map(LazyBlock::get);
     }
 
     public String getContent() {
         StringBuilder contentBuilder = new StringBuilder();
         contentBuilder.append(swiftTextOf(basicHeaderBlock));
         contentBuilder.append(swiftTextOf(applicationHeaderBlock));
-        if (userHeaderBlock.isPresent()) {
-            contentBuilder.append(swiftTextOf(userHeaderBlock.get()));
+        if (userHeaderBlock != null) {
+            contentBuilder.append(userHeaderBlock.getSwiftText());
         }
-        contentBuilder.append(swiftTextOf(textBlock));
-        if (userTrailerBlock.isPresent()) {
-            contentBuilder.append(swiftTextOf(userTrailerBlock.get()));
+        contentBuilder.append(textBlock.getSwiftText());
+        if (userTrailerBlock != null) {
+            contentBuilder.append(userTrailerBlock.getSwiftText());
         }
-        if (systemTrailerBlock.isPresent()) {
-            contentBuilder.append(swiftTextOf(systemTrailerBlock.get()));
+        if (systemTrailerBlock != null) {
+            contentBuilder.append(systemTrailerBlock.getSwiftText());
         }
         return contentBuilder.toString();
     }
@@ -0,0 +1,86 @@
+package com.qoomon.banking.swift.message;
+
+import com.google.common.base.Preconditions;
+import com.qoomon.banking.swift.message.block.BasicHeaderBlock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds message boundaries by bracket counting only, without parsing any block.
+ * <p>
+ * A message starts with a top level {@link BasicHeaderBlock} '{1:' like {@link SwiftMessageReader} expects.
+ * The ranges cover the whole text, so any characters between messages belong to the preceding message.
+ */
+public class SwiftMessageBoundaryScanner {
+
+    private static final char MESSAGE_START_BLOCK_ID = BasicHeaderBlock.BLOCK_ID_1.charAt(0);
+
+    private SwiftMessageBoundaryScanner() {
+    }
+
+    public static List<SwiftMessageRange> scan(CharSequence text) {
+
+        Preconditions.checkArgument(text != null, "text can't be null");
+
+        List<SwiftMessageRange> result = new ArrayList<>();
+
+        int textLength = text.length();
+        int depth = 0;
+        int lineNumber = 1;
+        int messageStart = 0;
+        int messageLineNumber = 1;
+        boolean messageContainsBlock = false;
+
+        for (int index = 0; index < textLength; index++) {
+            char character = text.charAt(index);
+            switch (character) {
+                case '\n':
+                    lineNumber++;
+                    break;
+                case '{':
+                    if (depth == 0) {
+                        if (messageContainsBlock && isMessageStartBlock(text, index)) {
+                            result.add(new SwiftMessageRange(messageStart, index, messageLineNumber));
+                            messageStart = index;
+                            messageLineNumber = lineNumber;
+                        }
+                        messageContainsBlock = true;
+                    }
+                    depth++;
+                    break;
+                case '}':
+                    // malformed structure is reported by the message reader
+                    depth = Math.max(0, depth - 1);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        if (messageContainsBlock) {
+            result.add(new SwiftMessageRange(messageStart, textLength, messageLineNumber));
+        }
+
+        return result;
+    }
+
+    /**
+     * @return true if block id at given block start is '1', carriage returns are ignored like the block reader does
+     */
+    private static boolean isMessageStartBlock(CharSequence text, int blockStart) {
+        int index = nextNonCarriageReturn(text, blockStart + 1);
+        if (index >= text.length() || text.charAt(index) != MESSAGE_START_BLOCK_ID) {
+            return false;
+        }
+        index = nextNonCarriageReturn(text, index + 1);
+        return index < text.length() && text.charAt(index) == ':';
+    }
+
+    private static int nextNonCarriageReturn(CharSequence text, int index) {
+        while (index < text.length() && text.charAt(index) == '\r') {
+            index++;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,96 @@
+package com.qoomon.banking.swift.message;
+
+import com.google.common.base.Preconditions;
+import com.qoomon.banking.swift.message.block.ApplicationHeaderBlock;
+import com.qoomon.banking.swift.message.block.BasicHeaderBlock;
+import com.qoomon.banking.swift.message.block.UserHeaderBlock;
+
+import java.util.Optional;
+
+/**
+ * Header blocks and location of a message, e.g. to route a message without parsing its text block.
+ *
+ * @see SwiftMessageReader#readEnvelope()
+ */
+public class SwiftMessageEnvelope {
+
+    /**
+     * {1:} Basic Header Block
+     */
+    private final BasicHeaderBlock basicHeaderBlock;
+
+    /**
+     * {2:} Application Header Block
+     */
+    private final ApplicationHeaderBlock applicationHeaderBlock;
+
+    /**
+     * {3:} User Header Block
+     */
+    private final Optional<UserHeaderBlock> userHeaderBlock;
+
+    private final long startOffset;
+
+    private final long endOffset;
+
+    private final int lineNumber;
+
+
+    public SwiftMessageEnvelope(BasicHeaderBlock basicHeaderBlock,
+                                ApplicationHeaderBlock applicationHeaderBlock,
+                                UserHeaderBlock userHeaderBlock,
+                                long startOffset,
+                                long endOffset,
+                                int lineNumber) {
+
+        Preconditions.checkArgument(basicHeaderBlock != null, "basicHeaderBlock can't be null");
+        Preconditions.checkArgument(applicationHeaderBlock != null, "applicationHeaderBlock can't be null");
+        Preconditions.checkArgument(startOffset >= 0, "startOffset can't be negative");
+        Preconditions.checkArgument(endOffset >= startOffset, "endOffset can't be lower than startOffset");
+        Preconditions.checkArgument(lineNumber > 0, "lineNumber must be positive");
+
+        this.basicHeaderBlock = basicHeaderBlock;
+        this.applicationHeaderBlock = applicationHeaderBlock;
+        this.userHeaderBlock = Optional.ofNullable(userHeaderBlock);
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+        this.lineNumber = lineNumber;
+    }
+
+    public BasicHeaderBlock getBasicHeaderBlock() {
+        return basicHeaderBlock;
+    }
+
+    public ApplicationHeaderBlock getApplicationHeaderBlock() {
+        return applicationHeaderBlock;
+    }
+
+    public Optional<UserHeaderBlock> getUserHeaderBlock() {
+        return userHeaderBlock;
+    }
+
+    public String getMessageType() {
+        return applicationHeaderBlock.getMessageType();
+    }
+
+    /**
+     * @return text offset of the message start, inclusive. Offsets of byte streams are byte offsets.
+     */
+    public long getStartOffset() {
+        return startOffset;
+    }
+
+    /**
+     * @return text offset of the message end, exclusive
+     */
+    public long getEndOffset() {
+        return endOffset;
+    }
+
+    /**
+     * @return line number of the message start
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+}
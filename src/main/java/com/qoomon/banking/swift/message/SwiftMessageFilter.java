@@ -0,0 +1,30 @@
+package com.qoomon.banking.swift.message;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import com.qoomon.banking.swift.message.block.ApplicationHeaderBlock;
+import com.qoomon.banking.swift.message.block.BasicHeaderBlock;
+
+import java.util.Set;
+
+/**
+ * Selects messages by their header blocks.
+ *
+ * @see SwiftMessageReader#setMessageFilter(SwiftMessageFilter)
+ */
+@FunctionalInterface
+public interface SwiftMessageFilter {
+
+    boolean accept(BasicHeaderBlock basicHeaderBlock, ApplicationHeaderBlock applicationHeaderBlock);
+
+    /**
+     * @param messageTypes accepted message types e.g. "940", "950"
+     * @return filter accepting given message types only
+     */
+    static SwiftMessageFilter messageTypes(String... messageTypes) {
+        Preconditions.checkArgument(messageTypes != null, "messageTypes can't be null");
+
+        Set<String> messageTypeSet = ImmutableSet.copyOf(messageTypes);
+        return (basicHeaderBlock, applicationHeaderBlock) -> messageTypeSet.contains(applicationHeaderBlock.getMessageType());
+    }
+}
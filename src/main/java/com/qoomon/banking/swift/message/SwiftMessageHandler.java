@@ -0,0 +1,52 @@
+package com.qoomon.banking.swift.message;
+
+import com.qoomon.banking.swift.message.exception.SwiftMessageParseException;
+
+/**
+ * Receives the parts of a message as they are read, see {@link SwiftMessageReader#read(SwiftMessageHandler)}.
+ * <p>
+ * Content sequences are only valid during the call, they have to be copied to be kept.
+ * All methods do nothing by default, so only the needed ones have to be implemented.
+ */
+public interface SwiftMessageHandler {
+
+    default void onMessageStart() throws SwiftMessageParseException {
+    }
+
+    /**
+     * Called for every block, before the fields of the text block.
+     *
+     * @param blockId block id
+     * @param content raw block content
+     */
+    default void onBlock(String blockId, CharSequence content) throws SwiftMessageParseException {
+    }
+
+    /**
+     * Called for every field of the text block, except page separators.
+     *
+     * @param tag     field tag, same instance for all tags known by {@link com.qoomon.banking.swift.submessage.field.FieldTag}
+     * @param content raw field content
+     */
+    default void onField(String tag, CharSequence content) throws SwiftMessageParseException {
+    }
+
+    /**
+     * Called for every page separator of the text block.
+     */
+    default void onPageEnd() throws SwiftMessageParseException {
+    }
+
+    default void onMessageEnd() throws SwiftMessageParseException {
+    }
+
+    /**
+     * Called in resilient mode instead of {@link #onMessageEnd()}, if the message is invalid.
+     * All parts reported since {@link #onMessageStart()} belong to the skipped message.
+     *
+     * @param exception cause of skipping
+     * @see SwiftMessageReader#setResilient(boolean)
+     */
+    default void onMessageSkipped(SwiftMessageParseException exception) throws SwiftMessageParseException {
+    }
+}
@@ -0,0 +1,188 @@
+package com.qoomon.banking.swift.message;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.qoomon.banking.swift.message.block.UserHeaderBlock;
+import com.qoomon.banking.swift.message.exception.SwiftMessageParseException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Location and key attributes of each message of a file, to read single messages without parsing the whole file.
+ * <p>
+ * The index can be stored as compact binary sidecar file, see {@link #write(Path)} and {@link #read(Path)}.
+ *
+ * @see SwiftMessageReader#open(Path, SwiftMessageIndex, int)
+ */
+public class SwiftMessageIndex {
+
+    private static final int FILE_MAGIC = 0x53574958; // SWIX
+
+    private static final int FILE_VERSION = 1;
+
+    private final long fileSize;
+
+    private final List<Entry> entries;
+
+
+    /**
+     * @param fileSize size of the indexed file, to detect outdated indexes
+     * @param entries  index entries in file order
+     */
+    public SwiftMessageIndex(long fileSize, List<Entry> entries) {
+
+        Preconditions.checkArgument(fileSize >= 0, "fileSize can't be negative");
+        Preconditions.checkArgument(entries != null, "entries can't be null");
+
+        this.fileSize = fileSize;
+        this.entries = ImmutableList.copyOf(entries);
+    }
+
+    /**
+     * Reads the header blocks of all messages, text blocks and trailer blocks are skipped.
+     *
+     * @param file swift message file
+     * @return index
+     * @throws IOException                if file can not be read
+     * @throws SwiftMessageParseException if a message is invalid
+     */
+    public static SwiftMessageIndex build(Path file) throws IOException, SwiftMessageParseException {
+        List<Entry> entries = new ArrayList<>();
+        try (SwiftMessageReader messageReader = SwiftMessageReader.open(file)) {
+            SwiftMessageEnvelope envelope;
+            while ((envelope = messageReader.readEnvelope()) != null) {
+                entries.add(new Entry(
+                        envelope.getStartOffset(),
+                        envelope.getEndOffset(),
+                        envelope.getLineNumber(),
+                        envelope.getMessageType(),
+                        envelope.getUserHeaderBlock().map(UserHeaderBlock::getMessageUserReference).orElse(null)));
+            }
+        }
+        return new SwiftMessageIndex(Files.size(file), entries);
+    }
+
+    public static SwiftMessageIndex read(Path indexFile) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (input.readInt() != FILE_MAGIC) {
+                throw new IOException("Not a message index file: " + indexFile);
+            }
+            int version = input.readUnsignedByte();
+            if (version != FILE_VERSION) {
+                throw new IOException("Unsupported message index version: " + version);
+            }
+            long fileSize = input.readLong();
+            int entryCount = input.readInt();
+            List<Entry> entries = new ArrayList<>(entryCount);
+            for (int entryIndex = 0; entryIndex < entryCount; entryIndex++) {
+                long startOffset = input.readLong();
+                long endOffset = startOffset + input.readInt();
+                int lineNumber = input.readInt();
+                String messageType = input.readUTF();
+                String messageUserReference = input.readBoolean() ? input.readUTF() : null;
+                entries.add(new Entry(startOffset, endOffset, lineNumber, messageType, messageUserReference));
+            }
+            return new SwiftMessageIndex(fileSize, entries);
+        }
+    }
+
+    public void write(Path indexFile) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexFile)))) {
+            output.writeInt(FILE_MAGIC);
+            output.writeByte(FILE_VERSION);
+            output.writeLong(fileSize);
+            output.writeInt(entries.size());
+            for (Entry entry : entries) {
+                output.writeLong(entry.getStartOffset());
+                output.writeInt(Math.toIntExact(entry.getEndOffset() - entry.getStartOffset()));
+                output.writeInt(entry.getLineNumber());
+                output.writeUTF(entry.getMessageType());
+                output.writeBoolean(entry.getMessageUserReference().isPresent());
+                if (entry.getMessageUserReference().isPresent()) {
+                    output.writeUTF(entry.getMessageUserReference().get());
+                }
+            }
+        }
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    public Entry getEntry(int messageIndex) {
+        return entries.get(messageIndex);
+    }
+
+    public static class Entry {
+
+        private final long startOffset;
+
+        private final long endOffset;
+
+        private final int lineNumber;
+
+        private final String messageType;
+
+        private final Optional<String> messageUserReference;
+
+
+        public Entry(long startOffset, long endOffset, int lineNumber, String messageType, String messageUserReference) {
+
+            Preconditions.checkArgument(startOffset >= 0, "startOffset can't be negative");
+            Preconditions.checkArgument(endOffset >= startOffset, "endOffset can't be lower than startOffset");
+            Preconditions.checkArgument(lineNumber > 0, "lineNumber must be positive");
+            Preconditions.checkArgument(messageType != null, "messageType can't be null");
+
+            this.startOffset = startOffset;
+            this.endOffset = endOffset;
+            this.lineNumber = lineNumber;
+            this.messageType = messageType;
+            this.messageUserReference = Optional.ofNullable(messageUserReference);
+        }
+
+        /**
+         * @return byte offset of the message start, inclusive
+         */
+        public long getStartOffset() {
+            return startOffset;
+        }
+
+        /**
+         * @return byte offset of the message end, exclusive
+         */
+        public long getEndOffset() {
+            return endOffset;
+        }
+
+        /**
+         * @return line number of the message start
+         */
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        public String getMessageType() {
+            return messageType;
+        }
+
+        /**
+         * @return Message User Reference (MUR) of user header block
+         */
+        public Optional<String> getMessageUserReference() {
+            return messageUserReference;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.qoomon.banking.swift.message;
+
+import com.google.common.base.Preconditions;
+import com.qoomon.banking.swift.message.block.BasicHeaderBlock;
+import com.qoomon.banking.swift.message.block.SystemTrailerBlock;
+import com.qoomon.banking.swift.message.exception.SwiftMessageParseException;
+
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+import static java.lang.Character.isWhitespace;
+
+/**
+ * Parses messages from text chunks pushed by the caller, e.g. as received from a non-blocking socket.
+ * <p>
+ * Only the text of the current message is buffered. A message is passed to the message consumer
+ * as soon as its system trailer block or the basic header block of the next message has been fed,
+ * or on {@link #finish()}.
+ * <p>
+ * Not thread safe, chunks have to be fed by one thread at a time.
+ */
+public class SwiftMessagePushParser {
+
+    private final Consumer<SwiftMessage> messageConsumer;
+
+    // unconsumed text
+    private final StringBuilder text = new StringBuilder();
+
+    // line number of text start
+    private int lineNumber = 1;
+
+    private int scanPosition = 0;
+    private int scanLineNumber = 1;
+
+    private int openingBrackets = 0;
+    private int blockStart = -1;
+    private final StringBuilder blockIdBuilder = new StringBuilder();
+    private boolean blockIdComplete = false;
+
+    // number of completed top level blocks within text
+    private int blockCount = 0;
+
+    private boolean failed = false;
+    private boolean finished = false;
+
+
+    public SwiftMessagePushParser(Consumer<SwiftMessage> messageConsumer) {
+
+        Preconditions.checkArgument(messageConsumer != null, "messageConsumer can't be null");
+
+        this.messageConsumer = messageConsumer;
+    }
+
+    /**
+     * @param chunk next text chunk
+     * @throws SwiftMessageParseException if a completed message is invalid, parser can't be used afterwards
+     */
+    public void feed(CharSequence chunk) throws SwiftMessageParseException {
+        Preconditions.checkArgument(chunk != null, "chunk can't be null");
+        ensureFeedable();
+
+        text.append(chunk);
+        scan();
+    }
+
+    /**
+     * Bytes are taken as ASCII characters without any charset decoding.
+     *
+     * @param chunk next text chunk, all remaining bytes are consumed
+     * @throws SwiftMessageParseException if a completed message is invalid or chunk contains non ASCII bytes,
+     *                                    parser can't be used afterwards
+     */
+    public void feed(ByteBuffer chunk) throws SwiftMessageParseException {
+        Preconditions.checkArgument(chunk != null, "chunk can't be null");
+        ensureFeedable();
+
+        while (chunk.hasRemaining()) {
+            byte chunkByte = chunk.get();
+            if (chunkByte < 0) {
+                scan();
+                failed = true;
+                throw new SwiftMessageParseException("Only ASCII characters are allowed, but was: 0x" + Integer.toHexString(chunkByte & 0xFF).toUpperCase(), scanLineNumber);
+            }
+            text.append((char) chunkByte);
+        }
+        scan();
+    }
+
+    /**
+     * Parses remaining text, has to be called at the end of input.
+     *
+     * @throws SwiftMessageParseException if remaining text is invalid
+     */
+    public void finish() throws SwiftMessageParseException {
+        ensureFeedable();
+        finished = true;
+
+        if (text.length() > 0) {
+            parse(text.length(), text.length(), Integer.MAX_VALUE);
+        }
+    }
+
+    private void scan() throws SwiftMessageParseException {
+        while (scanPosition < text.length()) {
+            int position = scanPosition++;
+            char messageCharacter = text.charAt(position);
+
+            if (messageCharacter == '\r') {
+                continue;
+            }
+            if (messageCharacter == '\n') {
+                scanLineNumber++;
+            }
+
+            if (openingBrackets == 0) {
+                if (messageCharacter == '{') {
+                    openingBrackets++;
+                    blockStart = position;
+                    blockIdBuilder.setLength(0);
+                    blockIdComplete = false;
+                } else if (!isWhitespace(messageCharacter)) {
+                    // let message reader report invalid character
+                    parse(scanPosition, scanPosition, Integer.MAX_VALUE);
+                }
+                continue;
+            }
+
+            if (messageCharacter == '}' && --openingBrackets == 0) {
+                finishBlock(scanPosition);
+                continue;
+            }
+            if (messageCharacter == '{') {
+                openingBrackets++;
+            }
+            if (!blockIdComplete) {
+                if (messageCharacter == ':') {
+                    blockIdComplete = true;
+                } else {
+                    blockIdBuilder.append(messageCharacter);
+                }
+            }
+        }
+    }
+
+    private void finishBlock(int blockEnd) throws SwiftMessageParseException {
+        String blockId = blockIdComplete ? blockIdBuilder.toString() : null;
+        boolean messageStart = BasicHeaderBlock.BLOCK_ID_1.equals(blockId);
+
+        if (blockCount == 0 && !messageStart) {
+            // let message reader report invalid block
+            parse(blockEnd, blockEnd, Integer.MAX_VALUE);
+        } else if (blockCount > 0 && messageStart) {
+            // next message block is read as well, to detect the end of the previous one like the message reader does
+            parse(blockEnd, blockStart, 1);
+            blockCount = 1;
+        } else if (SystemTrailerBlock.BLOCK_ID_S.equals(blockId)) {
+            parse(blockEnd, blockEnd, Integer.MAX_VALUE);
+        } else {
+            blockCount++;
+        }
+    }
+
+    /**
+     * @param end         end of text to read
+     * @param consumedEnd end of text to consume
+     * @param maxMessages number of messages to read
+     */
+    private void parse(int end, int consumedEnd, int maxMessages) throws SwiftMessageParseException {
+        SwiftMessageReader messageReader = new SwiftMessageReader(text.substring(0, end), lineNumber);
+        try {
+            SwiftMessage message;
+            for (int messageIndex = 0; messageIndex < maxMessages && (message = messageReader.read()) != null; messageIndex++) {
+                messageConsumer.accept(message);
+            }
+        } catch (SwiftMessageParseException e) {
+            failed = true;
+            throw e;
+        }
+
+        for (int index = 0; index < consumedEnd; index++) {
+            if (text.charAt(index) == '\n') {
+                lineNumber++;
+            }
+        }
+        text.delete(0, consumedEnd);
+        scanPosition -= consumedEnd;
+        blockStart -= consumedEnd;
+        blockCount = 0;
+    }
+
+    private void ensureFeedable() {
+        Preconditions.checkState(!failed, "parser failed before");
+        Preconditions.checkState(!finished, "parser is finished");
+    }
+}
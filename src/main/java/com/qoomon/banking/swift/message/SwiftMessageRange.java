@@ -0,0 +1,48 @@
+package com.qoomon.banking.swift.message;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Location of a single message within a text
+ */
+public class SwiftMessageRange {
+
+    private final int start;
+
+    private final int end;
+
+    private final int lineNumber;
+
+
+    public SwiftMessageRange(int start, int end, int lineNumber) {
+
+        Preconditions.checkArgument(start >= 0, "start can't be negative");
+        Preconditions.checkArgument(end >= start, "end can't be lower than start");
+        Preconditions.checkArgument(lineNumber > 0, "lineNumber must be positive");
+
+        this.start = start;
+        this.end = end;
+        this.lineNumber = lineNumber;
+    }
+
+    /**
+     * @return start index, inclusive
+     */
+    public int getStart() {
+        return start;
+    }
+
+    /**
+     * @return end index, exclusive
+     */
+    public int getEnd() {
+        return end;
+    }
+
+    /**
+     * @return line number of start index
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+}
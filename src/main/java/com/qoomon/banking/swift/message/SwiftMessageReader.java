@@ -3,24 +3,62 @@ package com.qoomon.banking.swift.message;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableSet;
 import com.qoomon.banking.swift.message.block.*;
+import com.qoomon.banking.swift.message.block.exception.BlockParseException;
 import com.qoomon.banking.swift.message.exception.SwiftMessageParseException;
+import com.qoomon.banking.swift.message.exception.UncheckedSwiftMessageParseException;
+import com.qoomon.banking.swift.submessage.field.FieldTag;
+import com.qoomon.banking.swift.submessage.field.SwiftFieldReader;
+import com.qoomon.banking.swift.submessage.field.exception.FieldParseException;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Created by qoomon on 24/06/16.
  */
-public class SwiftMessageReader {
+public class SwiftMessageReader implements Closeable {
 
     private final static Set<String> MESSAGE_START_BLOCK_ID_SET = ImmutableSet.of(BasicHeaderBlock.BLOCK_ID_1);
 
     private final SwiftBlockReader blockReader;
 
-    private GeneralBlock currentBlock = null;
+    private final Closeable source;
+
     private GeneralBlock nextBlock = null;
+    private long nextBlockStartOffset = -1;
+    private long nextBlockEndOffset = -1;
+    private int nextBlockLineNumber = -1;
+    private boolean nextBlockRead = false;
+
+    private boolean lazyBlockDecoding = false;
+
+    private SwiftMessageFilter messageFilter = null;
+
+    private boolean resilient = false;
+
+    private final List<SkippedMessageRange> skippedRanges = new ArrayList<>();
+
+    // text offset up to which messages have been read or skipped
+    private long readOffset = 0;
 
 
     public SwiftMessageReader(Reader textReader) {
@@ -28,6 +66,117 @@ public class SwiftMessageReader {
         Preconditions.checkArgument(textReader != null, "textReader can't be null");
 
         this.blockReader = new SwiftBlockReader(textReader);
+        this.source = textReader;
+    }
+
+    /**
+     * Reads the messages directly from given text, block content is not copied.
+     *
+     * @param text swift message text
+     */
+    public SwiftMessageReader(CharSequence text) {
+        this(text, 1);
+    }
+
+    SwiftMessageReader(CharSequence text, int lineNumber) {
+
+        Preconditions.checkArgument(text != null, "text can't be null");
+
+        this.blockReader = new SwiftBlockReader(text, lineNumber);
+        this.source = () -> {
+        };
+    }
+
+    /**
+     * Reads the message bytes as ASCII characters without charset decoding.
+     *
+     * @param textStream swift message bytes
+     * @see SwiftBlockReader#SwiftBlockReader(InputStream)
+     */
+    public SwiftMessageReader(InputStream textStream) {
+        this(textStream, 1);
+    }
+
+    SwiftMessageReader(InputStream textStream, int lineNumber) {
+
+        Preconditions.checkArgument(textStream != null, "textStream can't be null");
+
+        this.blockReader = new SwiftBlockReader(textStream, lineNumber);
+        this.source = textStream;
+    }
+
+    /**
+     * Opens a reader on a memory mapped file. The file is read from page cache instead of being copied to heap,
+     * so reading a file again is cheap.
+     * <p>
+     * Files up to 256MB are mapped at once and lexed directly on the mapping, block content is not copied.
+     * Larger files are mapped window by window and their bytes are copied through the {@link InputStream} path.
+     *
+     * @param file swift message file
+     * @return reader, has to be closed
+     * @throws IOException if file can not be opened
+     */
+    public static SwiftMessageReader open(Path file) throws IOException {
+        return open(file, 0, MappedFileInputStream.DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Opens a reader on a memory mapped file, starting at an indexed message.
+     *
+     * @param file         swift message file
+     * @param index        index of file
+     * @param messageIndex index of the first message to read
+     * @return reader, has to be closed
+     * @throws IOException if file can not be opened or if file size differs from indexed file size
+     * @see SwiftMessageIndex
+     */
+    public static SwiftMessageReader open(Path file, SwiftMessageIndex index, int messageIndex) throws IOException {
+
+        Preconditions.checkArgument(file != null, "file can't be null");
+        Preconditions.checkArgument(index != null, "index can't be null");
+
+        long fileSize = Files.size(file);
+        if (fileSize != index.getFileSize()) {
+            throw new IOException("Outdated message index, indexed file size was " + index.getFileSize()
+                    + ", but file size is " + fileSize + ": " + file);
+        }
+
+        SwiftMessageIndex.Entry entry = index.getEntry(messageIndex);
+        return open(file, entry.getStartOffset(), entry.getLineNumber(), MappedFileInputStream.DEFAULT_WINDOW_SIZE);
+    }
+
+    static SwiftMessageReader open(Path file, long position, long windowSize) throws IOException {
+        return open(file, position, 1, windowSize);
+    }
+
+    /**
+     * Text, which fits into one window, is mapped as a whole and read as {@link CharSequence}.
+     */
+    private static SwiftMessageReader open(Path file, long position, int lineNumber, long windowSize) throws IOException {
+
+        Preconditions.checkArgument(file != null, "file can't be null");
+        Preconditions.checkArgument(position >= 0, "position can't be negative");
+
+        long textSize = Math.max(0, Files.size(file) - position);
+        if (textSize > windowSize) {
+            return new SwiftMessageReader(new MappedFileInputStream(file, position, windowSize), lineNumber);
+        }
+
+        MappedByteBuffer textBuffer;
+        try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // mapping stays valid after channel is closed, it is released once the reader is garbage collected
+            textBuffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, position, textSize);
+        }
+        SwiftMessageReader reader = new SwiftMessageReader(new AsciiByteSequence(textBuffer), lineNumber);
+        reader.setAsciiOnly(true);
+        return reader;
+    }
+
+    /**
+     * @see SwiftBlockReader#setAsciiOnly(boolean)
+     */
+    void setAsciiOnly(boolean asciiOnly) {
+        blockReader.setAsciiOnly(asciiOnly);
     }
 
     public List<SwiftMessage> readAll() throws SwiftMessageParseException {
@@ -40,78 +189,355 @@ public class SwiftMessageReader {
     }
 
     public SwiftMessage read() throws SwiftMessageParseException {
-        try {
-            if (currentBlock == null) {
-                nextBlock = blockReader.readBlock();
+        while (true) {
+            MessageBlocks messageBlocks = readMessageBlocks();
+            if (messageBlocks == null) {
+                return null;
+            }
+            try {
+                SwiftMessage message = decode(messageBlocks);
+                readOffset = messageBlocks.getEndOffset();
+                return message;
+            } catch (SwiftMessageParseException e) {
+                if (!resilient) {
+                    throw e;
+                }
+                skipFailedMessage(messageBlocks, e);
+            }
+        }
+    }
+
+    /**
+     * Records the failed message as skipped range and continues at the next message.
+     */
+    private void skipFailedMessage(MessageBlocks messageBlocks, SwiftMessageParseException exception) throws SwiftMessageParseException {
+        long skippedEndOffset;
+        if (messageBlocks.isFailed()) {
+            // block order or block structure is broken, so search for next message start
+            try {
+                skippedEndOffset = blockReader.resync();
+            } catch (BlockParseException e) {
+                throw new SwiftMessageParseException(e.getMessage(), blockReader.getLineNumber(), e);
+            }
+            nextBlock = null;
+            nextBlockRead = false;
+        } else {
+            // message is read completely, next block is a valid message start
+            skippedEndOffset = nextBlock != null ? nextBlockStartOffset : messageBlocks.getEndOffset();
+        }
+        skippedRanges.add(new SkippedMessageRange(readOffset, Math.max(readOffset, skippedEndOffset), exception));
+        readOffset = skippedEndOffset;
+    }
+
+    /**
+     * Reads the next message as events. Blocks are not decoded and no message object is created,
+     * the fields of the text block are reported one by one, so only values kept by the handler are allocated.
+     * <p>
+     * Block order and field structure are validated, field order and field content are not.
+     * <p>
+     * In resilient mode an invalid message is skipped like by {@link #read()}, the handler is notified by
+     * {@link SwiftMessageHandler#onMessageSkipped(SwiftMessageParseException)} instead of
+     * {@link SwiftMessageHandler#onMessageEnd()} and reading continues at the next message.
+     *
+     * @param handler receives the parts of the message
+     * @return false if there are no more messages
+     * @throws SwiftMessageParseException on invalid message, thrown after the events of the preceding parts
+     */
+    public boolean read(SwiftMessageHandler handler) throws SwiftMessageParseException {
+        Preconditions.checkArgument(handler != null, "handler can't be null");
+
+        while (true) {
+            MessageBlocks messageBlocks = readMessageBlocks();
+            if (messageBlocks == null) {
+                return false;
+            }
+
+            handler.onMessageStart();
+            try {
+                readParts(messageBlocks, handler);
+                readOffset = messageBlocks.getEndOffset();
+            } catch (SwiftMessageParseException e) {
+                if (!resilient) {
+                    throw e;
+                }
+                skipFailedMessage(messageBlocks, e);
+                handler.onMessageSkipped(e);
+                continue;
             }
+            handler.onMessageEnd();
+            return true;
+        }
+    }
 
-            SwiftMessage message = null;
+    private static void readParts(MessageBlocks messageBlocks, SwiftMessageHandler handler) throws SwiftMessageParseException {
+        int blockIdMask = 0;
+        for (int blockIndex = 0; blockIndex < messageBlocks.getBlockCount(); blockIndex++) {
+            messageBlocks.ensureNoPendingException(blockIndex);
 
-            // message fields (builder) // TODO create builder
-            BasicHeaderBlock messageBuilderBasicHeaderBlock = null;
-            ApplicationHeaderBlock messageBuilderApplicationHeaderBlock = null;
-            UserHeaderBlock messageBuilderUserHeaderBlock = null;
-            TextBlock messageBuilderTextBlock = null;
-            UserTrailerBlock messageBuilderUserTrailerBlock = null;
-            SystemTrailerBlock messageBuilderSystemTrailerBlock = null;
+            GeneralBlock block = messageBlocks.getBlock(blockIndex);
+            handler.onBlock(block.getId(), block.getContentSequence());
+            if (TextBlock.BLOCK_ID_4.equals(block.getId())) {
+                readFields(block, messageBlocks.getBlockStartLineNumber(blockIndex), handler);
+            }
+            blockIdMask |= blockIdBit(block.getId());
+        }
+        messageBlocks.ensureNoPendingException(messageBlocks.getBlockCount());
 
-            Set<String> nextValidBlockIdSet = MESSAGE_START_BLOCK_ID_SET;
+        // same as message validation
+        if ((blockIdMask & blockIdBit(ApplicationHeaderBlock.BLOCK_ID_2)) == 0) {
+            throw new SwiftMessageParseException("applicationHeaderBlock can't be null", messageBlocks.getEndLineNumber());
+        }
+        if ((blockIdMask & blockIdBit(TextBlock.BLOCK_ID_4)) == 0) {
+            throw new SwiftMessageParseException("textBlock can't be null", messageBlocks.getEndLineNumber());
+        }
+    }
 
-            while (message == null && nextBlock != null) {
+    /**
+     * @return bit of a single digit block id, 0 for any other block id
+     */
+    private static int blockIdBit(String blockId) {
+        if (blockId.length() != 1 || blockId.charAt(0) < '0' || blockId.charAt(0) > '9') {
+            return 0;
+        }
+        return 1 << (blockId.charAt(0) - '0');
+    }
 
-                ensureValidNextBlock(nextBlock, nextValidBlockIdSet, blockReader);
+    /**
+     * @param textBlock       text block, info line is skipped
+     * @param startLineNumber line number of text block opening bracket
+     */
+    private static void readFields(GeneralBlock textBlock, int startLineNumber, SwiftMessageHandler handler) throws SwiftMessageParseException {
+        CharSequence content = textBlock.getContentSequence();
+        int infoLineEnd = 0;
+        while (infoLineEnd < content.length() && content.charAt(infoLineEnd) != '\n') {
+            infoLineEnd++;
+        }
+        if (infoLineEnd == content.length()) {
+            throw new SwiftMessageParseException("Block " + TextBlock.BLOCK_ID_4 + " did not match pattern " + TextBlock.FIELD_PATTERN, startLineNumber);
+        }
 
-                currentBlock = nextBlock;
-                nextBlock = blockReader.readBlock();
+        SwiftFieldReader fieldReader = new SwiftFieldReader(content, infoLineEnd + 1, content.length());
+        try {
+            while (fieldReader.nextField()) {
+                if (fieldReader.getFieldTag() == FieldTag.SEPARATOR) {
+                    handler.onPageEnd();
+                } else {
+                    handler.onField(fieldReader.getTag(), fieldReader.getContent());
+                }
+            }
+        } catch (FieldParseException e) {
+            // field line numbers start behind info line
+            throw new SwiftMessageParseException(e.getMessage(), startLineNumber + e.getLineNumber(), e);
+        }
+    }
 
-                switch (currentBlock.getId()) {
-                    case BasicHeaderBlock.BLOCK_ID_1: {
-                        messageBuilderBasicHeaderBlock = BasicHeaderBlock.of(currentBlock);
-                        nextValidBlockIdSet = ImmutableSet.of(ApplicationHeaderBlock.BLOCK_ID_2);
-                        break;
-                    }
-                    case ApplicationHeaderBlock.BLOCK_ID_2: {
-                        messageBuilderApplicationHeaderBlock = ApplicationHeaderBlock.of(currentBlock);
-                        nextValidBlockIdSet = ImmutableSet.of(UserHeaderBlock.BLOCK_ID_3, TextBlock.BLOCK_ID_4);
-                        break;
-                    }
-                    case UserHeaderBlock.BLOCK_ID_3: {
-                        messageBuilderUserHeaderBlock = UserHeaderBlock.of(currentBlock);
-                        nextValidBlockIdSet = ImmutableSet.of(TextBlock.BLOCK_ID_4);
-                        break;
-                    }
-                    case TextBlock.BLOCK_ID_4: {
-                        messageBuilderTextBlock = TextBlock.of(currentBlock);
-                        nextValidBlockIdSet = ImmutableSet.of(UserTrailerBlock.BLOCK_ID_5, SystemTrailerBlock.BLOCK_ID_S);
-                        break;
+    /**
+     * Streams the messages lazily. On parallel streams the messages are split off in batches,
+     * so messages get decoded in parallel while blocks are still read sequentially.
+     * <p>
+     * Parse errors are thrown as {@link UncheckedSwiftMessageParseException}.
+     * Closing the stream closes this reader.
+     *
+     * @return message stream
+     */
+    public Stream<SwiftMessage> stream() {
+        return StreamSupport.stream(new MessageSpliterator(), false)
+                .onClose(() -> {
+                    try {
+                        close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
                     }
-                    case UserTrailerBlock.BLOCK_ID_5: {
-                        messageBuilderUserTrailerBlock = UserTrailerBlock.of(currentBlock);
-                        nextValidBlockIdSet = ImmutableSet.of(SystemTrailerBlock.BLOCK_ID_S);
-                        break;
+                });
+    }
+
+    /**
+     * Messages are read on demand of the subscriber only. This reader is closed on completion, error or cancellation.
+     *
+     * @param executor executor to read messages and signal the subscriber
+     * @return publisher of all remaining messages, supports one subscriber only
+     */
+    public Flow.Publisher<SwiftMessage> publisher(Executor executor) {
+        return new ReaderPublisher<>(this::read, this, executor);
+    }
+
+    /**
+     * Reads the blocks of the next message without decoding them.
+     *
+     * @return message blocks or null if there are no more blocks
+     */
+    private MessageBlocks readMessageBlocks() {
+        MessageBlocks messageBlocks = new MessageBlocks();
+
+        if (!nextBlockRead) {
+            try {
+                readNextBlock();
+            } catch (BlockParseException e) {
+                messageBlocks.fail(new SwiftMessageParseException(e.getMessage(), blockReader.getLineNumber(), e), 0);
+                return messageBlocks;
+            }
+            nextBlockRead = true;
+        }
+
+        if (nextBlock == null) {
+            return null;
+        }
+
+        Set<String> nextValidBlockIdSet = MESSAGE_START_BLOCK_ID_SET;
+
+        while (nextBlock != null) {
+
+            if (!nextValidBlockIdSet.contains(nextBlock.getId())) {
+                // all preceding blocks are decoded before
+                messageBlocks.fail(new SwiftMessageParseException("Expected Block '" + nextValidBlockIdSet + "', but was '" + nextBlock.getId() + "'", blockReader.getLineNumber()),
+                        messageBlocks.getBlockCount());
+                return messageBlocks;
+            }
+
+            GeneralBlock currentBlock = nextBlock;
+            long currentBlockEndOffset = nextBlockEndOffset;
+            int currentBlockStartLineNumber = nextBlockLineNumber;
+
+            if (messageFilter != null && ApplicationHeaderBlock.BLOCK_ID_2.equals(currentBlock.getId())
+                    && !acceptMessage(messageBlocks, currentBlock)) {
+                messageBlocks = new MessageBlocks();
+                try {
+                    skipMessage();
+                    // filtered message is not part of a skipped range
+                    readOffset = blockReader.getBlockEndOffset();
+                    readNextBlock();
+                } catch (BlockParseException e) {
+                    messageBlocks.fail(new SwiftMessageParseException(e.getMessage(), blockReader.getLineNumber(), e), 0);
+                    return messageBlocks;
+                }
+                if (nextBlock == null) {
+                    return null;
+                }
+                nextValidBlockIdSet = MESSAGE_START_BLOCK_ID_SET;
+                continue;
+            }
+
+            try {
+                readNextBlock();
+            } catch (BlockParseException e) {
+                // all preceding blocks except the current one are decoded before
+                messageBlocks.add(currentBlock, blockReader.getLineNumber(), currentBlockStartLineNumber);
+                messageBlocks.fail(new SwiftMessageParseException(e.getMessage(), blockReader.getLineNumber(), e),
+                        messageBlocks.getBlockCount() - 1);
+                return messageBlocks;
+            }
+            messageBlocks.add(currentBlock, blockReader.getLineNumber(), currentBlockStartLineNumber);
+            messageBlocks.setEndOffset(currentBlockEndOffset);
+            nextValidBlockIdSet = nextValidBlockIdSetOf(currentBlock.getId());
+
+            // finish message
+            if (nextBlock == null || MESSAGE_START_BLOCK_ID_SET.contains(nextBlock.getId())) {
+                break;
+            }
+        }
+
+        messageBlocks.setEndLineNumber(blockReader.getLineNumber());
+        return messageBlocks;
+    }
+
+    /**
+     * Decodes the header blocks to apply the message filter.
+     *
+     * @param messageBlocks          message blocks, containing basic header block only
+     * @param applicationHeaderBlock application header block
+     * @return true if message is accepted or header blocks are invalid
+     */
+    private boolean acceptMessage(MessageBlocks messageBlocks, GeneralBlock applicationHeaderBlock) {
+        BasicHeaderBlock messageBasicHeaderBlock;
+        ApplicationHeaderBlock messageApplicationHeaderBlock;
+        try {
+            messageBasicHeaderBlock = BasicHeaderBlock.of(messageBlocks.getBlock(0));
+            messageApplicationHeaderBlock = ApplicationHeaderBlock.of(applicationHeaderBlock);
+        } catch (Exception e) {
+            // errors are reported on decoding
+            return true;
+        }
+        messageBlocks.setHeaderBlocks(messageBasicHeaderBlock, messageApplicationHeaderBlock);
+        return messageFilter.accept(messageBasicHeaderBlock, messageApplicationHeaderBlock);
+    }
+
+    private void readNextBlock() throws BlockParseException {
+        nextBlock = blockReader.readBlock();
+        nextBlockStartOffset = blockReader.getBlockStartOffset();
+        nextBlockEndOffset = blockReader.getBlockEndOffset();
+        nextBlockLineNumber = blockReader.getBlockLineNumber();
+    }
+
+    /**
+     * Reads the header blocks of the next message only. All following blocks of the message are skipped
+     * by bracket counting, so neither text block nor trailer blocks get parsed.
+     *
+     * @return message envelope or null if there are no more messages
+     * @throws SwiftMessageParseException on invalid header blocks or block order
+     */
+    public SwiftMessageEnvelope readEnvelope() throws SwiftMessageParseException {
+        try {
+            while (true) {
+                GeneralBlock basicHeaderBlock;
+                long startOffset;
+                int lineNumber;
+                if (nextBlockRead) {
+                    // continue after message read by read()
+                    if (nextBlock == null) {
+                        return null;
                     }
-                    case SystemTrailerBlock.BLOCK_ID_S: {
-                        messageBuilderSystemTrailerBlock = SystemTrailerBlock.of(currentBlock);
-                        nextValidBlockIdSet = ImmutableSet.of();
-                        break;
+                    basicHeaderBlock = nextBlock;
+                    startOffset = nextBlockStartOffset;
+                    lineNumber = nextBlockLineNumber;
+                    nextBlock = null;
+                    nextBlockRead = false;
+                } else {
+                    basicHeaderBlock = blockReader.readBlock();
+                    if (basicHeaderBlock == null) {
+                        return null;
                     }
-                    default:
-                        throw new SwiftMessageParseException("unexpected block id '" + currentBlock.getId() + "'", blockReader.getLineNumber());
+                    startOffset = blockReader.getBlockStartOffset();
+                    lineNumber = blockReader.getBlockLineNumber();
                 }
 
-                // finish message
-                if (nextBlock == null || MESSAGE_START_BLOCK_ID_SET.contains(nextBlock.getId())) {
-                    message = new SwiftMessage(
-                            messageBuilderBasicHeaderBlock,
-                            messageBuilderApplicationHeaderBlock,
-                            messageBuilderUserHeaderBlock,
-                            messageBuilderTextBlock,
-                            messageBuilderUserTrailerBlock,
-                            messageBuilderSystemTrailerBlock);
+                ensureValidBlockId(basicHeaderBlock.getId(), MESSAGE_START_BLOCK_ID_SET);
+                BasicHeaderBlock messageBasicHeaderBlock = BasicHeaderBlock.of(basicHeaderBlock);
+
+                GeneralBlock applicationHeaderBlock = blockReader.readBlock();
+                Set<String> nextValidBlockIdSet = nextValidBlockIdSetOf(BasicHeaderBlock.BLOCK_ID_1);
+                ensureValidBlockId(applicationHeaderBlock != null ? applicationHeaderBlock.getId() : null, nextValidBlockIdSet);
+                ApplicationHeaderBlock messageApplicationHeaderBlock = ApplicationHeaderBlock.of(applicationHeaderBlock);
+
+                if (messageFilter != null && !messageFilter.accept(messageBasicHeaderBlock, messageApplicationHeaderBlock)) {
+                    skipMessage();
+                    continue;
+                }
+
+                nextValidBlockIdSet = nextValidBlockIdSetOf(ApplicationHeaderBlock.BLOCK_ID_2);
+                UserHeaderBlock messageUserHeaderBlock = null;
+                if (UserHeaderBlock.BLOCK_ID_3.equals(blockReader.peekBlockId())) {
+                    messageUserHeaderBlock = UserHeaderBlock.of(blockReader.readBlock());
+                    nextValidBlockIdSet = nextValidBlockIdSetOf(UserHeaderBlock.BLOCK_ID_3);
+                }
+                String blockId;
+                while ((blockId = blockReader.peekBlockId()) != null && !MESSAGE_START_BLOCK_ID_SET.contains(blockId)) {
+                    ensureValidBlockId(blockId, nextValidBlockIdSet);
+                    blockReader.skipBlock();
+                    nextValidBlockIdSet = nextValidBlockIdSetOf(blockId);
+                }
+                // text block is mandatory
+                if (nextValidBlockIdSet.contains(TextBlock.BLOCK_ID_4)) {
+                    ensureValidBlockId(blockId, ImmutableSet.of(TextBlock.BLOCK_ID_4));
                 }
-            }
 
-            return message;
+                return new SwiftMessageEnvelope(
+                        messageBasicHeaderBlock,
+                        messageApplicationHeaderBlock,
+                        messageUserHeaderBlock,
+                        startOffset,
+                        blockReader.getBlockEndOffset(),
+                        lineNumber);
+            }
         } catch (SwiftMessageParseException e) {
             throw e;
         } catch (Exception e) {
@@ -119,11 +545,275 @@ public class SwiftMessageReader {
         }
     }
 
-    private void ensureValidNextBlock(GeneralBlock block, Set<String> expectedBlockIdSet, SwiftBlockReader blockReader) throws SwiftMessageParseException {
-        String blockId = block != null ? block.getId() : null;
+    /**
+     * Skips remaining blocks of current message, blocks are not validated.
+     */
+    private void skipMessage() throws BlockParseException {
+        String blockId;
+        while ((blockId = blockReader.peekBlockId()) != null && !MESSAGE_START_BLOCK_ID_SET.contains(blockId)) {
+            blockReader.skipBlock();
+        }
+    }
+
+    private void ensureValidBlockId(String blockId, Set<String> expectedBlockIdSet) throws SwiftMessageParseException {
         if (!expectedBlockIdSet.contains(blockId)) {
             throw new SwiftMessageParseException("Expected Block '" + expectedBlockIdSet + "', but was '" + blockId + "'", blockReader.getLineNumber());
         }
     }
 
+    private static Set<String> nextValidBlockIdSetOf(String blockId) {
+        switch (blockId) {
+            case BasicHeaderBlock.BLOCK_ID_1:
+                return ImmutableSet.of(ApplicationHeaderBlock.BLOCK_ID_2);
+            case ApplicationHeaderBlock.BLOCK_ID_2:
+                return ImmutableSet.of(UserHeaderBlock.BLOCK_ID_3, TextBlock.BLOCK_ID_4);
+            case UserHeaderBlock.BLOCK_ID_3:
+                return ImmutableSet.of(TextBlock.BLOCK_ID_4);
+            case TextBlock.BLOCK_ID_4:
+                return ImmutableSet.of(UserTrailerBlock.BLOCK_ID_5, SystemTrailerBlock.BLOCK_ID_S);
+            case UserTrailerBlock.BLOCK_ID_5:
+                return ImmutableSet.of(SystemTrailerBlock.BLOCK_ID_S);
+            default:
+                return ImmutableSet.of();
+        }
+    }
+
+    private SwiftMessage decode(MessageBlocks messageBlocks) throws SwiftMessageParseException {
+
+        // message fields (builder) // TODO create builder
+        BasicHeaderBlock messageBuilderBasicHeaderBlock = null;
+        ApplicationHeaderBlock messageBuilderApplicationHeaderBlock = null;
+        LazyBlock<UserHeaderBlock> messageBuilderUserHeaderBlock = null;
+        LazyBlock<TextBlock> messageBuilderTextBlock = null;
+        LazyBlock<UserTrailerBlock> messageBuilderUserTrailerBlock = null;
+        LazyBlock<SystemTrailerBlock> messageBuilderSystemTrailerBlock = null;
+
+        for (int blockIndex = 0; blockIndex < messageBlocks.getBlockCount(); blockIndex++) {
+            messageBlocks.ensureNoPendingException(blockIndex);
+
+            GeneralBlock block = messageBlocks.getBlock(blockIndex);
+            int lineNumber = messageBlocks.getBlockLineNumber(blockIndex);
+            try {
+                switch (block.getId()) {
+                    case BasicHeaderBlock.BLOCK_ID_1:
+                        messageBuilderBasicHeaderBlock = messageBlocks.getBasicHeaderBlock() != null
+                                ? messageBlocks.getBasicHeaderBlock()
+                                : BasicHeaderBlock.of(block);
+                        break;
+                    case ApplicationHeaderBlock.BLOCK_ID_2:
+                        messageBuilderApplicationHeaderBlock = messageBlocks.getApplicationHeaderBlock() != null
+                                ? messageBlocks.getApplicationHeaderBlock()
+                                : ApplicationHeaderBlock.of(block);
+                        break;
+                    case UserHeaderBlock.BLOCK_ID_3:
+                        messageBuilderUserHeaderBlock = blockOf(block, UserHeaderBlock::of, lineNumber);
+                        break;
+                    case TextBlock.BLOCK_ID_4:
+                        messageBuilderTextBlock = blockOf(block, TextBlock::of, lineNumber);
+                        break;
+                    case UserTrailerBlock.BLOCK_ID_5:
+                        messageBuilderUserTrailerBlock = blockOf(block, UserTrailerBlock::of, lineNumber);
+                        break;
+                    case SystemTrailerBlock.BLOCK_ID_S:
+                        messageBuilderSystemTrailerBlock = blockOf(block, SystemTrailerBlock::of, lineNumber);
+                        break;
+                    default:
+                        throw new SwiftMessageParseException("unexpected block id '" + block.getId() + "'", lineNumber);
+                }
+            } catch (SwiftMessageParseException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new SwiftMessageParseException(e.getMessage(), lineNumber, e);
+            }
+        }
+        messageBlocks.ensureNoPendingException(messageBlocks.getBlockCount());
+
+        try {
+            return new SwiftMessage(
+                    messageBuilderBasicHeaderBlock,
+                    messageBuilderApplicationHeaderBlock,
+                    messageBuilderUserHeaderBlock,
+                    messageBuilderTextBlock,
+                    messageBuilderUserTrailerBlock,
+                    messageBuilderSystemTrailerBlock);
+        } catch (Exception e) {
+            throw new SwiftMessageParseException(e.getMessage(), messageBlocks.getEndLineNumber(), e);
+        }
+    }
+
+    private <T extends SwiftBlock> LazyBlock<T> blockOf(GeneralBlock block, LazyBlock.Decoder<T> decoder, int lineNumber) throws Exception {
+        if (lazyBlockDecoding) {
+            return LazyBlock.of(block, decoder, lineNumber);
+        }
+        return LazyBlock.of(decoder.decode(block));
+    }
+
+    /**
+     * Messages not accepted by the filter are skipped right after their header blocks,
+     * remaining blocks of those messages are neither parsed nor validated.
+     * Applies to {@link #read()}, {@link #stream()} and {@link #readEnvelope()}.
+     *
+     * @param messageFilter filter or null to read all messages
+     * @see SwiftMessageFilter#messageTypes(String...)
+     */
+    public void setMessageFilter(SwiftMessageFilter messageFilter) {
+        this.messageFilter = messageFilter;
+    }
+
+    /**
+     * If enabled, user header block, text block and trailer blocks are decoded on first access.
+     * Decoding errors are thrown by the message getters as {@link UncheckedSwiftMessageParseException}.
+     * {@link SwiftMessage#getContent()} returns blocks as read, without decoding them.
+     *
+     * @param lazyBlockDecoding true to decode blocks on first access
+     */
+    public void setLazyBlockDecoding(boolean lazyBlockDecoding) {
+        this.lazyBlockDecoding = lazyBlockDecoding;
+    }
+
+    /**
+     * If enabled, {@link #read()}, {@link #readAll()} and {@link #read(SwiftMessageHandler)} skip invalid messages
+     * instead of throwing an exception.
+     * On invalid block structure or block order the text is skipped up to the next '{1:'.
+     * An unclosed block ends at a '{1:' at a line start, see {@link SwiftBlockReader#setMessageStartEndsBlock(boolean)}.
+     * Skipped text ranges are available by {@link #getSkippedRanges()}.
+     *
+     * @param resilient true to skip invalid messages
+     * @see SwiftBlockReader#resync()
+     */
+    public void setResilient(boolean resilient) {
+        this.resilient = resilient;
+        this.blockReader.setMessageStartEndsBlock(resilient);
+    }
+
+    /**
+     * @return text ranges skipped so far, in text order
+     */
+    public List<SkippedMessageRange> getSkippedRanges() {
+        return Collections.unmodifiableList(skippedRanges);
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+
+    private SwiftMessage decodeUnchecked(MessageBlocks messageBlocks) {
+        try {
+            return decode(messageBlocks);
+        } catch (SwiftMessageParseException e) {
+            throw new UncheckedSwiftMessageParseException(e);
+        }
+    }
+
+    /**
+     * Reads messages one by one, splits off batches of undecoded messages.
+     */
+    private class MessageSpliterator implements Spliterator<SwiftMessage> {
+
+        private static final int BATCH_SIZE_INCREMENT = 16;
+        private static final int MAX_BATCH_SIZE = 1024;
+
+        private int batchSize = 0;
+
+        private boolean exhausted = false;
+
+        @Override
+        public boolean tryAdvance(Consumer<? super SwiftMessage> action) {
+            MessageBlocks messageBlocks = nextMessageBlocks();
+            if (messageBlocks == null) {
+                return false;
+            }
+            action.accept(decodeUnchecked(messageBlocks));
+            return true;
+        }
+
+        @Override
+        public Spliterator<SwiftMessage> trySplit() {
+            int size = Math.min(batchSize + BATCH_SIZE_INCREMENT, MAX_BATCH_SIZE);
+            MessageBlocks[] batch = new MessageBlocks[size];
+            int count = 0;
+            MessageBlocks messageBlocks;
+            while (count < size && (messageBlocks = nextMessageBlocks()) != null) {
+                batch[count++] = messageBlocks;
+            }
+            if (count == 0) {
+                return null;
+            }
+            batchSize = count;
+            return new MessageBlocksSpliterator(batch, 0, count);
+        }
+
+        private MessageBlocks nextMessageBlocks() {
+            if (exhausted) {
+                return null;
+            }
+            MessageBlocks messageBlocks = readMessageBlocks();
+            // stop reading after failed message
+            if (messageBlocks == null || messageBlocks.isFailed()) {
+                exhausted = true;
+            }
+            return messageBlocks;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL;
+        }
+    }
+
+    /**
+     * Decodes a batch of already read messages.
+     */
+    private class MessageBlocksSpliterator implements Spliterator<SwiftMessage> {
+
+        private final MessageBlocks[] batch;
+
+        private int index;
+
+        private final int fence;
+
+        MessageBlocksSpliterator(MessageBlocks[] batch, int index, int fence) {
+            this.batch = batch;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super SwiftMessage> action) {
+            if (index >= fence) {
+                return false;
+            }
+            MessageBlocks messageBlocks = batch[index];
+            batch[index++] = null;
+            action.accept(decodeUnchecked(messageBlocks));
+            return true;
+        }
+
+        @Override
+        public Spliterator<SwiftMessage> trySplit() {
+            int middle = (index + fence) >>> 1;
+            if (middle <= index) {
+                return null;
+            }
+            Spliterator<SwiftMessage> prefix = new MessageBlocksSpliterator(batch, index, middle);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL | SIZED | SUBSIZED;
+        }
+    }
 }
\ No newline at end of file
@@ -71,6 +71,14 @@ public class ApplicationHeaderBlock implements SwiftBlock {
         return type;
     }
 
+    public String getMessageType() {
+        if (getInput().isPresent()) {
+            return getInput().get().getMessageType();
+        } else {
+            return getOutput().get().getMessageType();
+        }
+    }
+
     @Override
     public String getId() {
         return BLOCK_ID_2;
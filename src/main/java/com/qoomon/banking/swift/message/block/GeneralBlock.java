@@ -2,13 +2,24 @@ package com.qoomon.banking.swift.message.block;
 
 import com.google.common.base.Preconditions;
 
+import java.nio.CharBuffer;
+
 /**
  * Created by qoomon on 07/07/16.
+ * <p>
+ * The content may be backed by a slice of a shared source text.
+ * In that case it is only copied into a {@link String} on {@link #getContent()}.
  */
 public class GeneralBlock implements SwiftBlock {
 
     private final String id;
-    private final String content;
+
+    private final CharSequence source;
+    private final int contentStart;
+    private final int contentEnd;
+
+    private String content;
+
 
     public GeneralBlock(String id, String content) {
 
@@ -16,9 +27,30 @@ public class GeneralBlock implements SwiftBlock {
         Preconditions.checkArgument(content != null, "content can't be null");
 
         this.id = id;
+        this.source = content;
+        this.contentStart = 0;
+        this.contentEnd = content.length();
         this.content = content;
     }
 
+    /**
+     * @param id           block id
+     * @param source       text containing the block content
+     * @param contentStart start index of the content within source, inclusive
+     * @param contentEnd   end index of the content within source, exclusive
+     */
+    public GeneralBlock(String id, CharSequence source, int contentStart, int contentEnd) {
+
+        Preconditions.checkArgument(id != null && !id.isEmpty(), "id can't be null or empty");
+        Preconditions.checkArgument(source != null, "source can't be null");
+        Preconditions.checkPositionIndexes(contentStart, contentEnd, source.length());
+
+        this.id = id;
+        this.source = source;
+        this.contentStart = contentStart;
+        this.contentEnd = contentEnd;
+    }
+
     @Override
     public String getId() {
         return id;
@@ -26,6 +58,29 @@ public class GeneralBlock implements SwiftBlock {
 
     @Override
     public String getContent() {
+        String content = this.content;
+        if (content == null) {
+            content = source.subSequence(contentStart, contentEnd).toString();
+            this.content = content;
+        }
         return content;
     }
+
+    /**
+     * Content is only shared with the source text of a {@link SwiftBlockReader} reading a {@link CharSequence}.
+     * Blocks read from a {@link java.io.Reader} or an {@link java.io.InputStream} are copied into a block buffer before.
+     *
+     * @return content as read only view, without copying it
+     */
+    public CharSequence getContentSequence() {
+        String content = this.content;
+        if (content != null) {
+            return content;
+        }
+        return CharBuffer.wrap(source, contentStart, contentEnd);
+    }
+
+    public int getContentLength() {
+        return contentEnd - contentStart;
+    }
 }
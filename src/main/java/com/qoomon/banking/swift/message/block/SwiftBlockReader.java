@@ -4,96 +4,267 @@ import com.google.common.base.Preconditions;
 import com.qoomon.banking.swift.message.block.exception.BlockParseException;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static java.lang.Character.isWhitespace;
 
 /**
  * Created by qoomon on 07/07/16.
+ * <p>
+ * Reads the text in bulk into an internal buffer and splits each block into id and content within one pass,
+ * so no regular expression is involved.
+ * <p>
+ * When reading from a {@link CharSequence} the blocks are slices of that sequence, so block content is not copied.
+ * <p>
+ * When reading from an {@link InputStream} the bytes are taken as ASCII characters without any charset decoding,
+ * all SWIFT character sets are subsets of ASCII. Any other byte is rejected.
+ * <p>
+ * Blocks can be skipped by bracket counting alone, see {@link #peekBlockId()} and {@link #skipBlock()}.
+ * <p>
+ * After a {@link BlockParseException} reading can be continued at the next message by {@link #resync()}.
  */
 public class SwiftBlockReader {
 
-    private static final char END_OF_STREAM = (char) -1;
-
-    private static final Pattern BLOCK_PATTERN = Pattern.compile("^\\{(?<id>[^:]+):(?<content>.*)}", Pattern.DOTALL);
+    private static final int BUFFER_SIZE = 8192;
 
     private final Reader textReader;
 
+    private final CharSequence textSequence;
+
+    private final InputStream textStream;
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int bufferPosition = 0;
+    private int bufferLimit = 0;
+    // text offset of buffer start
+    private long bufferOffset = 0;
+
+    // used in stream mode only
+    private final byte[] byteBuffer;
+    private int byteBufferPosition = 0;
+    private int byteBufferLimit = 0;
+
+    // always in stream mode, see setAsciiOnly(boolean) for sequence mode
+    private boolean asciiOnly;
+    private int invalidByte = -1;
+
+    // used in reader mode only
+    private final StringBuilder blockBuilder = new StringBuilder();
+    private int blockContentIndex = -1;
+
+    // used in sequence mode only
+    private long blockStartOffset = -1;
+    private long blockContentOffset = -1;
+    private boolean blockContainsCarriageReturn = false;
+
+    private int blockStartLineNumber = -1;
+
+    // id of the block, which has been read up to its content
+    private String peekedBlockId = null;
+    private boolean peeking = false;
+    private boolean skipping = false;
+
+    private GeneralBlock finishedBlock = null;
+    private long finishedBlockStartOffset = -1;
+    private long finishedBlockEndOffset = -1;
+    private int finishedBlockLineNumber = -1;
+
     private int lineNumber = 1;
     private int lineCharIndex = 0;
+    private boolean lineStart = true;
     private int openingBrackets = 0;
     private int closingBrackets = 0;
 
+    // end unclosed blocks at a message start, see setMessageStartEndsBlock(boolean)
+    private boolean messageStartEndsBlock = false;
+    // number of matched characters of '{1:' at a line start within an open block
+    private int messageStartMatchLength = 0;
+    private long messageStartOffset = -1;
+    private int messageStartLineNumber = -1;
+    private boolean messageStartContainsCarriageReturn = false;
+    // unclosed block has been ended by a message start, resync continues there
+    private boolean messageStartPending = false;
+
     public SwiftBlockReader(Reader textReader) {
 
         Preconditions.checkArgument(textReader != null, "textReader can't be null");
 
         this.textReader = textReader;
+        this.textSequence = null;
+        this.textStream = null;
+        this.byteBuffer = null;
+    }
+
+    public SwiftBlockReader(CharSequence textSequence) {
+        this(textSequence, 1);
+    }
+
+    /**
+     * @param textSequence text to read
+     * @param lineNumber   line number of the first line, e.g. if text is a part of a larger file
+     */
+    public SwiftBlockReader(CharSequence textSequence, int lineNumber) {
+
+        Preconditions.checkArgument(textSequence != null, "textSequence can't be null");
+        Preconditions.checkArgument(lineNumber > 0, "lineNumber must be positive");
+
+        this.textReader = null;
+        this.textSequence = textSequence;
+        this.textStream = null;
+        this.byteBuffer = null;
+        this.lineNumber = lineNumber;
+    }
+
+    public SwiftBlockReader(InputStream textStream) {
+        this(textStream, 1);
+    }
+
+    /**
+     * @param textStream text to read
+     * @param lineNumber line number of the first line, e.g. if stream starts within a larger file
+     */
+    public SwiftBlockReader(InputStream textStream, int lineNumber) {
+
+        Preconditions.checkArgument(textStream != null, "textStream can't be null");
+        Preconditions.checkArgument(lineNumber > 0, "lineNumber must be positive");
+
+        this.textReader = null;
+        this.textSequence = null;
+        this.textStream = textStream;
+        this.byteBuffer = new byte[BUFFER_SIZE];
+        this.lineNumber = lineNumber;
+        this.asciiOnly = true;
     }
 
     public GeneralBlock readBlock() throws BlockParseException {
+        peekedBlockId = null;
+        if (!scan()) {
+            return null;
+        }
+        GeneralBlock block = finishedBlock;
+        finishedBlock = null;
+        return block;
+    }
 
-        GeneralBlock block = null;
-        StringBuilder blockBuilder = new StringBuilder();
+    /**
+     * Reads ahead up to the content of the next block. The block is still returned by next {@link #readBlock()}.
+     *
+     * @return id of the next block or null if there are no more blocks
+     * @throws BlockParseException on invalid text in front of the block content
+     */
+    public String peekBlockId() throws BlockParseException {
+        if (peekedBlockId == null) {
+            peeking = true;
+            try {
+                scan();
+            } finally {
+                peeking = false;
+            }
+        }
+        return peekedBlockId;
+    }
 
+    /**
+     * Skips the next block by bracket counting, block content is not copied.
+     *
+     * @return true if a block has been skipped, false if there are no more blocks
+     * @throws BlockParseException on invalid block
+     */
+    public boolean skipBlock() throws BlockParseException {
+        peekedBlockId = null;
+        skipping = true;
         try {
-            char messageCharacter;
-            while (block == null && (messageCharacter = (char) textReader.read()) != END_OF_STREAM) {
-
-                if (messageCharacter == '\r') {
-                    continue;
-                }
+            return scan();
+        } finally {
+            skipping = false;
+            finishedBlock = null;
+        }
+    }
 
-                // increment line index
-                if (messageCharacter == '\n') {
-                    lineNumber++;
-                    lineCharIndex = 0;
-                }
+    /**
+     * Reads until the end of the next block or, if peeking, until the start of its content.
+     *
+     * @return false if there are no more blocks
+     */
+    private boolean scan() throws BlockParseException {
 
-                lineCharIndex++;
+        try {
+            while (bufferPosition < bufferLimit || fillBuffer()) {
+                // start of characters, which are not yet appended to block builder
+                int runStart = bufferPosition;
+                while (bufferPosition < bufferLimit) {
+                    char messageCharacter = buffer[bufferPosition++];
 
-                if (blockBuilder.length() == 0 && messageCharacter != '{') {
-                    if (isWhitespace(messageCharacter)) {
-                        // ignore whitespaces between blocks
+                    if (messageCharacter == '\r') {
+                        appendRun(runStart, bufferPosition - 1);
+                        runStart = bufferPosition;
+                        if (openingBrackets > 0) {
+                            blockContainsCarriageReturn = true;
+                        }
+                        messageStartContainsCarriageReturn |= messageStartMatchLength > 0;
                         continue;
-                    } else if (messageCharacter == '}') {
-                        throw new BlockParseException("Found closing bracket without preceding opening bracket", lineNumber);
-                    } else {
-                        throw new BlockParseException("No characters are allowed outside of blocks, but was: '" + messageCharacter + "'", lineNumber);
                     }
-                }
 
-                if (messageCharacter == '{') {
-                    openingBrackets++;
-                }
-                if (messageCharacter == '}') {
-                    closingBrackets++;
-                }
+                    // increment line index
+                    if (messageCharacter == '\n') {
+                        lineNumber++;
+                        lineCharIndex = 0;
+                    }
 
-                blockBuilder.append(messageCharacter);
+                    lineCharIndex++;
 
-                if (openingBrackets == closingBrackets) {
+                    boolean characterAtLineStart = lineStart;
+                    lineStart = messageCharacter == '\n';
 
-                    Matcher blockMatcher = BLOCK_PATTERN.matcher(blockBuilder.toString());
-                    if (!blockMatcher.matches()) {
-                        if (openingBrackets != 0) {
-                            throw new BlockParseException("Unexpected block structure", lineNumber);
-                        } else {
-                            throw new BlockParseException("Unexpected block structure start", lineNumber);
-                        }
+                    if (openingBrackets > 0 && messageStartEndsBlock) {
+                        matchMessageStart(messageCharacter, characterAtLineStart);
                     }
 
-                    String blockId = blockMatcher.group("id");
-                    String blockContent = blockMatcher.group("content");
-                    block = new GeneralBlock(blockId, blockContent);
+                    if (openingBrackets == 0) {
+                        if (messageCharacter != '{') {
+                            if (isWhitespace(messageCharacter)) {
+                                // ignore whitespaces between blocks
+                                runStart = bufferPosition;
+                                continue;
+                            } else if (messageCharacter == '}') {
+                                throw new BlockParseException("Found closing bracket without preceding opening bracket", lineNumber);
+                            } else {
+                                throw new BlockParseException("No characters are allowed outside of blocks, but was: '" + messageCharacter + "'", lineNumber);
+                            }
+                        }
+                        blockStartOffset = bufferOffset + bufferPosition - 1;
+                        blockStartLineNumber = lineNumber;
+                    }
 
-                    //reset block building
-                    blockBuilder = new StringBuilder();
-                    openingBrackets = 0;
-                    closingBrackets = 0;
+                    switch (messageCharacter) {
+                        case '{':
+                            openingBrackets++;
+                            break;
+                        case '}':
+                            closingBrackets++;
+                            if (openingBrackets == closingBrackets) {
+                                appendRun(runStart, bufferPosition);
+                                finishBlock();
+                                return true;
+                            }
+                            break;
+                        case ':':
+                            if (blockContentIndex < 0) {
+                                blockContentIndex = blockBuilder.length() + (bufferPosition - runStart);
+                                blockContentOffset = bufferOffset + bufferPosition;
+                                if (peeking) {
+                                    appendRun(runStart, bufferPosition);
+                                    peekedBlockId = peekedBlockIdOf();
+                                    return true;
+                                }
+                            }
+                            break;
+                        default:
+                            break;
+                    }
                 }
+                appendRun(runStart, bufferPosition);
             }
         } catch (IOException e) {
             throw new BlockParseException(e);
@@ -103,7 +274,278 @@ public class SwiftBlockReader {
             throw new BlockParseException("Unclosed '{'", lineNumber);
         }
 
-        return block;
+        return false;
+    }
+
+    /**
+     * If enabled, '{1:' at a line start within a block is taken as start of the next message,
+     * so an unclosed block fails there instead of swallowing all following messages up to the text end.
+     * Disabled by default, as such text is valid within a block.
+     *
+     * @param messageStartEndsBlock true to end unclosed blocks at a message start
+     * @see #resync()
+     */
+    public void setMessageStartEndsBlock(boolean messageStartEndsBlock) {
+        this.messageStartEndsBlock = messageStartEndsBlock;
+    }
+
+    /**
+     * If enabled, any character beyond ASCII is rejected like a non ASCII byte of an {@link InputStream},
+     * e.g. if the text sequence is a view on file bytes.
+     *
+     * @param asciiOnly true to reject non ASCII characters
+     */
+    public void setAsciiOnly(boolean asciiOnly) {
+        Preconditions.checkState(textSequence != null, "only supported for text sequences");
+
+        this.asciiOnly = asciiOnly;
+    }
+
+    private void matchMessageStart(char messageCharacter, boolean characterAtLineStart) throws BlockParseException {
+        if (messageCharacter == '{' && characterAtLineStart) {
+            messageStartMatchLength = 1;
+            messageStartOffset = bufferOffset + bufferPosition - 1;
+            messageStartLineNumber = lineNumber;
+            messageStartContainsCarriageReturn = false;
+        } else if (messageStartMatchLength == 1 && messageCharacter == '1') {
+            messageStartMatchLength = 2;
+        } else if (messageStartMatchLength == 2 && messageCharacter == ':') {
+            messageStartMatchLength = 0;
+            messageStartPending = true;
+            throw new BlockParseException("Unclosed '{'", messageStartLineNumber);
+        } else {
+            messageStartMatchLength = 0;
+        }
+    }
+
+    private void appendRun(int start, int end) {
+        // skipped blocks are only built up to their content
+        if (textSequence == null && !(skipping && blockContentIndex >= 0)) {
+            blockBuilder.append(buffer, start, end - start);
+        }
+    }
+
+    /**
+     * Splits the completed block '{id:content}' at the first colon.
+     */
+    private void finishBlock() throws BlockParseException {
+        GeneralBlock block;
+        if (skipping && (textSequence == null || !blockContainsCarriageReturn)) {
+            int contentIndex = textSequence == null ? blockContentIndex : (int) (blockContentOffset - blockStartOffset);
+            // block id has to consist of at least one character
+            if (contentIndex < 3) {
+                throw new BlockParseException("Unexpected block structure", lineNumber);
+            }
+            block = null;
+        } else if (textSequence == null) {
+            block = blockOf(blockBuilder.toString(), blockContentIndex);
+        } else {
+            int blockEndOffset = (int) (bufferOffset + bufferPosition);
+            if (blockContainsCarriageReturn) {
+                String blockText = textSequence.subSequence((int) blockStartOffset, blockEndOffset).toString().replace("\r", "");
+                block = blockOf(blockText, blockText.indexOf(':') + 1);
+            } else {
+                block = blockOf(textSequence, (int) blockStartOffset, (int) blockContentOffset, blockEndOffset);
+            }
+        }
+
+        finishedBlock = block;
+        finishedBlockStartOffset = blockStartOffset;
+        finishedBlockEndOffset = bufferOffset + bufferPosition;
+        finishedBlockLineNumber = blockStartLineNumber;
+
+        resetBlock();
+    }
+
+    private void resetBlock() {
+        blockBuilder.setLength(0);
+        blockContentIndex = -1;
+        blockStartOffset = -1;
+        blockContentOffset = -1;
+        blockContainsCarriageReturn = false;
+        openingBrackets = 0;
+        closingBrackets = 0;
+        messageStartMatchLength = 0;
+    }
+
+    /**
+     * Skips all text up to the next '{1:', e.g. to continue reading after a {@link BlockParseException}.
+     * Brackets are not counted while skipping, so the text is searched for the literal block start.
+     * If reading failed at a '{1:' within an unclosed block, reading continues at that block.
+     * Afterwards the found basic header block is the next block, see {@link #peekBlockId()}.
+     *
+     * @return text offset of the found block or of the text end, if there is none
+     * @throws BlockParseException if text can not be read
+     */
+    public long resync() throws BlockParseException {
+        resetBlock();
+        peekedBlockId = null;
+        finishedBlock = null;
+
+        if (messageStartPending) {
+            messageStartPending = false;
+            return continueAtMessageStart(messageStartOffset, messageStartLineNumber, messageStartContainsCarriageReturn);
+        }
+
+        // number of matched characters of '{1:'
+        int matchLength = 0;
+        long matchOffset = -1;
+        int matchLineNumber = -1;
+        boolean matchContainsCarriageReturn = false;
+        try {
+            while (true) {
+                if (bufferPosition >= bufferLimit) {
+                    try {
+                        if (!fillBuffer()) {
+                            break;
+                        }
+                    } catch (BlockParseException e) {
+                        if (e.getCause() instanceof IOException) {
+                            throw e;
+                        }
+                        // invalid characters are skipped as well
+                        matchLength = 0;
+                        continue;
+                    }
+                }
+                char messageCharacter = buffer[bufferPosition++];
+
+                if (messageCharacter == '\r') {
+                    matchContainsCarriageReturn |= matchLength > 0;
+                    continue;
+                }
+                if (messageCharacter == '\n') {
+                    lineNumber++;
+                    lineCharIndex = 0;
+                }
+                lineCharIndex++;
+
+                if (messageCharacter == '{') {
+                    matchLength = 1;
+                    matchOffset = bufferOffset + bufferPosition - 1;
+                    matchLineNumber = lineNumber;
+                    matchContainsCarriageReturn = false;
+                } else if (matchLength == 1 && messageCharacter == '1') {
+                    matchLength = 2;
+                } else if (matchLength == 2 && messageCharacter == ':') {
+                    return continueAtMessageStart(matchOffset, matchLineNumber, matchContainsCarriageReturn);
+                } else {
+                    matchLength = 0;
+                }
+            }
+        } catch (IOException e) {
+            throw new BlockParseException(e);
+        }
+        return bufferOffset + bufferPosition;
+    }
+
+    /**
+     * Continues as if the basic header block, which has just been read up to its content, has been peeked.
+     *
+     * @return text offset of the block
+     */
+    private long continueAtMessageStart(long offset, int startLineNumber, boolean containsCarriageReturn) {
+        openingBrackets = 1;
+        blockStartOffset = offset;
+        blockStartLineNumber = startLineNumber;
+        blockContentOffset = bufferOffset + bufferPosition;
+        blockContainsCarriageReturn = containsCarriageReturn;
+        blockContentIndex = 3;
+        if (textSequence == null) {
+            blockBuilder.append("{1:");
+        }
+        peekedBlockId = "1";
+        lineStart = false;
+        return offset;
+    }
+
+    private String peekedBlockIdOf() {
+        if (textSequence == null) {
+            return blockBuilder.substring(1, Math.max(1, blockContentIndex - 1));
+        }
+        String blockId = textSequence.subSequence((int) blockStartOffset + 1, (int) blockContentOffset - 1).toString();
+        return blockContainsCarriageReturn ? blockId.replace("\r", "") : blockId;
+    }
+
+    private GeneralBlock blockOf(CharSequence text, int contentIndex) throws BlockParseException {
+        return blockOf(text, 0, contentIndex, text.length());
+    }
+
+    private GeneralBlock blockOf(CharSequence text, int blockStart, int contentStart, int blockEnd) throws BlockParseException {
+        // block id has to consist of at least one character
+        if (contentStart - blockStart < 3) {
+            throw new BlockParseException("Unexpected block structure", lineNumber);
+        }
+        String blockId = text.subSequence(blockStart + 1, contentStart - 1).toString();
+        return new GeneralBlock(blockId, text, contentStart, blockEnd - 1);
+    }
+
+    private boolean fillBuffer() throws IOException, BlockParseException {
+        if (invalidByte >= 0) {
+            int reportedByte = invalidByte;
+            invalidByte = -1;
+            // invalid byte is skipped, but still counts for text offsets
+            bufferOffset += bufferLimit + 1;
+            bufferPosition = 0;
+            bufferLimit = 0;
+            throw new BlockParseException("Only ASCII characters are allowed, but was: 0x" + Integer.toHexString(reportedByte).toUpperCase(), lineNumber);
+        }
+
+        bufferOffset += bufferLimit;
+        bufferPosition = 0;
+        bufferLimit = 0;
+
+        int readCharacters;
+        if (textReader != null) {
+            readCharacters = textReader.read(buffer, 0, buffer.length);
+        } else if (textStream != null) {
+            if (byteBufferPosition >= byteBufferLimit) {
+                byteBufferPosition = 0;
+                byteBufferLimit = Math.max(textStream.read(byteBuffer, 0, byteBuffer.length), 0);
+            }
+            readCharacters = 0;
+            while (byteBufferPosition < byteBufferLimit) {
+                byte messageByte = byteBuffer[byteBufferPosition++];
+                if (messageByte < 0) {
+                    // stop in front of invalid byte, it gets reported on next fill
+                    invalidByte = messageByte & 0xFF;
+                    break;
+                }
+                buffer[readCharacters++] = (char) messageByte;
+            }
+            if (readCharacters == 0 && invalidByte >= 0) {
+                return fillBuffer();
+            }
+        } else {
+            int sequenceOffset = (int) bufferOffset;
+            readCharacters = Math.min(buffer.length, textSequence.length() - sequenceOffset);
+            if (textSequence instanceof String) {
+                ((String) textSequence).getChars(sequenceOffset, sequenceOffset + readCharacters, buffer, 0);
+            } else {
+                for (int index = 0; index < readCharacters; index++) {
+                    buffer[index] = textSequence.charAt(sequenceOffset + index);
+                }
+            }
+            if (asciiOnly) {
+                for (int index = 0; index < readCharacters; index++) {
+                    if (buffer[index] > 0x7F) {
+                        // stop in front of invalid character, it gets reported on next fill
+                        invalidByte = buffer[index];
+                        readCharacters = index;
+                        break;
+                    }
+                }
+                if (readCharacters == 0 && invalidByte >= 0) {
+                    return fillBuffer();
+                }
+            }
+        }
+
+        if (readCharacters > 0) {
+            bufferLimit = readCharacters;
+            return true;
+        }
+        return false;
     }
 
     public int getLineNumber() {
@@ -113,4 +555,25 @@ public class SwiftBlockReader {
     public int getLineCharIndex() {
         return lineCharIndex;
     }
+
+    /**
+     * @return text offset of the opening bracket of the last read or skipped block
+     */
+    public long getBlockStartOffset() {
+        return finishedBlockStartOffset;
+    }
+
+    /**
+     * @return text offset behind the closing bracket of the last read or skipped block
+     */
+    public long getBlockEndOffset() {
+        return finishedBlockEndOffset;
+    }
+
+    /**
+     * @return line number of the opening bracket of the last read or skipped block
+     */
+    public int getBlockLineNumber() {
+        return finishedBlockLineNumber;
+    }
 }
@@ -15,26 +15,40 @@ public class TextBlock implements SwiftBlock {
 
     private final Optional<String> infoLine;
 
-    private final String text;
+    private final CharSequence textSequence;
+
+    private String text;
 
 
     public TextBlock(String infoLine, String text) {
-        Preconditions.checkArgument(text != null, "content can't be null");
+        this(infoLine, (CharSequence) text);
+    }
+
+    /**
+     * @param infoLine     optional info line
+     * @param textSequence text, will only be copied into a {@link String} on {@link #getText()}
+     */
+    public TextBlock(String infoLine, CharSequence textSequence) {
+        Preconditions.checkArgument(textSequence != null, "content can't be null");
 
         this.infoLine = Optional.ofNullable(infoLine);
-        this.text = text;
+        this.textSequence = textSequence;
+        if (textSequence instanceof String) {
+            this.text = (String) textSequence;
+        }
     }
 
     public static TextBlock of(GeneralBlock block) throws BlockFieldParseException {
         Preconditions.checkArgument(block.getId().equals(BLOCK_ID_4), "unexpected block id '{}'", block.getId());
 
-        Matcher blockMatcher = FIELD_PATTERN.matcher(block.getContent());
+        CharSequence blockContent = block.getContentSequence();
+        Matcher blockMatcher = FIELD_PATTERN.matcher(blockContent);
         if (!blockMatcher.matches()) {
             throw new BlockFieldParseException("Block " + BLOCK_ID_4 + " did not match pattern " + FIELD_PATTERN);
         }
         // remove first empty line
         String infoLine = blockMatcher.group(1);
-        String text = blockMatcher.group(2);
+        CharSequence text = blockContent.subSequence(blockMatcher.start(2), blockMatcher.end(2));
 
         return new TextBlock(infoLine, text);
     }
@@ -49,16 +63,28 @@ public class TextBlock implements SwiftBlock {
     }
 
     public String getText() {
+        String text = this.text;
+        if (text == null) {
+            text = textSequence.toString();
+            this.text = text;
+        }
         return text;
     }
 
+    /**
+     * @return text as read only view, without copying it
+     */
+    public CharSequence getTextSequence() {
+        return textSequence;
+    }
+
     @Override
     public String getContent() {
         StringBuilder contentBuilder = new StringBuilder();
         if (infoLine.isPresent()) {
             contentBuilder.append(infoLine.get());
         }
-        contentBuilder.append("\n").append(text);
+        contentBuilder.append("\n").append(textSequence);
         return contentBuilder.toString();
     }
 
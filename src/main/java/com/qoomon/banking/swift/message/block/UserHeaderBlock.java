@@ -5,7 +5,6 @@ import com.google.common.collect.ImmutableMap;
 import com.qoomon.banking.swift.message.block.exception.BlockFieldParseException;
 import com.qoomon.banking.swift.message.block.exception.BlockParseException;
 
-import java.io.StringReader;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -47,7 +46,7 @@ public class UserHeaderBlock implements SwiftBlock {
     public static UserHeaderBlock of(GeneralBlock block) throws BlockFieldParseException {
         Preconditions.checkArgument(block.getId().equals(BLOCK_ID_3), "unexpected block id '%s'", block.getId());
 
-        SwiftBlockReader blockReader = new SwiftBlockReader(new StringReader(block.getContent()));
+        SwiftBlockReader blockReader = new SwiftBlockReader(block.getContentSequence());
 
         String bankingPriorityCode = null;
         String messageUserReference = null;
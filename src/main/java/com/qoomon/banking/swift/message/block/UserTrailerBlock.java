@@ -5,7 +5,6 @@ import com.google.common.collect.ImmutableMap;
 import com.qoomon.banking.swift.message.block.exception.BlockFieldParseException;
 import com.qoomon.banking.swift.message.block.exception.BlockParseException;
 
-import java.io.StringReader;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -62,7 +61,7 @@ public class UserTrailerBlock implements SwiftBlock {
     public static UserTrailerBlock of(GeneralBlock block) throws BlockFieldParseException {
         Preconditions.checkArgument(block.getId().equals(BLOCK_ID_5), "unexpected block id 'v '", block.getId());
 
-        SwiftBlockReader blockReader = new SwiftBlockReader(new StringReader(block.getContent()));
+        SwiftBlockReader blockReader = new SwiftBlockReader(block.getContentSequence());
 
         String messageAuthenticationCode = null;
         String proprietaryAuthenticationCode = null;
@@ -0,0 +1,325 @@
+package com.qoomon.banking.swift.notation;
+
+import com.google.common.base.Preconditions;
+
+import java.util.List;
+
+/**
+ * Matches a single subfield of a {@link SwiftNotation} in one left to right pass.
+ * <p>
+ * Behaves like the former subfield regex {@code ^PREFIX((:?(?!DELIMITERS)CHARSET){MIN,MAX})}.
+ * Note the {@code (:?} group, it allows a colon in front of every subfield character, so a colon doesn't count towards the length.
+ * Multiline subfields additionally have to end at the end of the text, as {@code $} does.
+ */
+final class SubfieldMatcher {
+
+    private static final char COLON = ':';
+
+    private static final int MAX_LINE_STEP_LENGTH = 3;
+
+    private final String prefix;
+
+    // ascii characters of charset
+    private final boolean[] charset;
+
+    private final boolean colonInCharset;
+
+    // prefixes of upcoming subfields, value must not contain them
+    private final String[] delimiters;
+
+    private final int minCount;
+
+    private final int maxCount;
+
+    private final boolean multiline;
+
+    private final int maxLines;
+
+    private final int maxLineLength;
+
+
+    private SubfieldMatcher(String prefix, boolean[] charset, String[] delimiters, int minCount, int maxCount,
+                            boolean multiline, int maxLines, int maxLineLength) {
+        Preconditions.checkArgument(minCount <= maxCount && maxCount > 0 || minCount == 0 && maxCount == 0,
+                "Illegal subfield length {%s,%s}", minCount, maxCount);
+        this.prefix = prefix;
+        this.charset = charset;
+        this.colonInCharset = charset[COLON];
+        this.delimiters = delimiters;
+        this.minCount = minCount;
+        this.maxCount = maxCount;
+        this.multiline = multiline;
+        this.maxLines = maxLines;
+        this.maxLineLength = maxLineLength;
+    }
+
+    /**
+     * @param prefix        prefix text or empty
+     * @param charset       ascii characters of charset
+     * @param delimiters    prefix texts of upcoming subfields
+     * @param minCount      minimal subfield length
+     * @param maxCount      maximal subfield length
+     */
+    static SubfieldMatcher of(String prefix, boolean[] charset, List<String> delimiters, int minCount, int maxCount) {
+        return new SubfieldMatcher(prefix, charset, delimiters.toArray(new String[0]), minCount, maxCount, false, 0, 0);
+    }
+
+    /**
+     * @param prefix        prefix text or empty
+     * @param charset       ascii characters of charset
+     * @param delimiters    prefix texts of upcoming subfields
+     * @param maxLines      maximal line count
+     * @param maxLineLength maximal line length
+     */
+    static SubfieldMatcher ofMultiline(String prefix, boolean[] charset, List<String> delimiters, int maxLines, int maxLineLength) {
+        Preconditions.checkArgument(maxLines > 0 && maxLineLength > 0, "Illegal multiline subfield length %s*%s", maxLines, maxLineLength);
+        return new SubfieldMatcher(prefix, charset, delimiters.toArray(new String[0]), 1, maxLines * maxLineLength + (maxLines - 1),
+                true, maxLines, maxLineLength);
+    }
+
+    int getPrefixLength() {
+        return prefix.length();
+    }
+
+    /**
+     * @param text  text
+     * @param start match start
+     * @return end of subfield including prefix or -1 if subfield does not match
+     */
+    int match(CharSequence text, int start) {
+        return match(text, 0, start);
+    }
+
+    /**
+     * @param text      text
+     * @param textStart text start, text in front of it is ignored
+     * @param start     match start
+     * @return end of subfield including prefix or -1 if subfield does not match
+     */
+    int match(CharSequence text, int textStart, int start) {
+        int end = text.length();
+        if (!regionMatches(text, start, end, prefix)) {
+            return -1;
+        }
+        int valueStart = start + prefix.length();
+        if (multiline) {
+            return matchLines(text, textStart, valueStart, end);
+        }
+
+        // take colon and next character as one if possible, the longest match wins
+        int index = valueStart;
+        int count = 0;
+        while (count < maxCount) {
+            if (isColon(text, index, end) && !isDelimiter(text, index + 1, end) && isCharsetChar(text, index + 1, end, false)) {
+                index += 2;
+            } else if (!isDelimiter(text, index, end) && isCharsetChar(text, index, end, false)) {
+                index += 1;
+            } else {
+                break;
+            }
+            count++;
+        }
+
+        // a matched colon can also be counted as character on its own
+        int maxMatchCount = colonInCharset ? index - valueStart : count;
+        return maxMatchCount >= minCount ? index : -1;
+    }
+
+    /**
+     * Multiline values allow up to two colons in front of every character, regex {@code (:?(?!DELIMITERS)(:?CHARSET|\n))}
+     * and have to end at text end.
+     * <p>
+     * Runs in linear time, even for malformed text.
+     */
+    private int matchLines(CharSequence text, int textStart, int valueStart, int end) {
+        if (!fitsLines(text, textStart, valueStart, end)) {
+            return -1;
+        }
+
+        // take longest step first, usually reaches text end
+        int index = valueStart;
+        int count = 0;
+        while (count < maxCount) {
+            int stepLength = MAX_LINE_STEP_LENGTH;
+            while (stepLength > 0 && !isLineStep(text, index, end, stepLength)) {
+                stepLength--;
+            }
+            if (stepLength == 0) {
+                break;
+            }
+            index += stepLength;
+            count++;
+        }
+        if (count > 0 && isTextEnd(text, textStart, index, end)) {
+            return index;
+        }
+
+        return searchLines(text, textStart, valueStart, end);
+    }
+
+    /**
+     * Finds the match, the regex backtracking would find. Steps are taken longest first, as long as a text end is still reachable.
+     */
+    private int searchLines(CharSequence text, int textStart, int valueStart, int end) {
+        // minimal step count from index to text end, by text end candidate
+        int[][] minStepCounts = new int[3][];
+        int[] textEnds = new int[3];
+        int textEndCount = 0;
+        for (int textEnd = end; textEnd >= end - 2 && textEnd > valueStart; textEnd--) {
+            if (isTextEnd(text, textStart, textEnd, end)) {
+                textEnds[textEndCount] = textEnd;
+                minStepCounts[textEndCount] = minStepCounts(text, valueStart, textEnd, end);
+                textEndCount++;
+            }
+        }
+
+        int index = valueStart;
+        int count = 0;
+        if (!isTextEndReachable(index, count, valueStart, textEnds, minStepCounts, textEndCount)) {
+            return -1;
+        }
+        while (count < maxCount) {
+            int stepLength = MAX_LINE_STEP_LENGTH;
+            while (stepLength > 0 && !(isLineStep(text, index, end, stepLength)
+                    && isTextEndReachable(index + stepLength, count + 1, valueStart, textEnds, minStepCounts, textEndCount))) {
+                stepLength--;
+            }
+            if (stepLength == 0) {
+                break;
+            }
+            index += stepLength;
+            count++;
+        }
+        return index;
+    }
+
+    private boolean isTextEndReachable(int index, int count, int valueStart,
+                                       int[] textEnds, int[][] minStepCounts, int textEndCount) {
+        for (int textEndIndex = 0; textEndIndex < textEndCount; textEndIndex++) {
+            int textEnd = textEnds[textEndIndex];
+            if (index == textEnd && count > 0
+                    || index < textEnd && minStepCounts[textEndIndex][index - valueStart] <= maxCount - count) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int[] minStepCounts(CharSequence text, int valueStart, int textEnd, int end) {
+        int[] minStepCounts = new int[textEnd - valueStart + 1];
+        for (int index = textEnd - 1; index >= valueStart; index--) {
+            int minStepCount = Integer.MAX_VALUE;
+            for (int stepLength = 1; stepLength <= MAX_LINE_STEP_LENGTH && index + stepLength <= textEnd; stepLength++) {
+                int nextMinStepCount = minStepCounts[index + stepLength - valueStart];
+                if (nextMinStepCount != Integer.MAX_VALUE && isLineStep(text, index, end, stepLength)) {
+                    minStepCount = Math.min(minStepCount, nextMinStepCount + 1);
+                }
+            }
+            minStepCounts[index - valueStart] = minStepCount;
+        }
+        return minStepCounts;
+    }
+
+    private boolean isLineStep(CharSequence text, int index, int end, int stepLength) {
+        switch (stepLength) {
+            case 3:
+                return isColon(text, index, end) && !isDelimiter(text, index + 1, end)
+                        && isColon(text, index + 1, end) && isCharsetChar(text, index + 2, end, false);
+            case 2:
+                return isColon(text, index, end)
+                        && (!isDelimiter(text, index + 1, end) && isCharsetChar(text, index + 1, end, true)
+                        || !isDelimiter(text, index, end) && isCharsetChar(text, index + 1, end, false));
+            case 1:
+                return !isDelimiter(text, index, end) && isCharsetChar(text, index, end, true);
+            default:
+                throw new IllegalArgumentException("Unexpected step length " + stepLength);
+        }
+    }
+
+    private static boolean isColon(CharSequence text, int index, int end) {
+        return index < end && text.charAt(index) == COLON;
+    }
+
+    /**
+     * @param lineFeed accept line feed in addition to charset
+     */
+    private boolean isCharsetChar(CharSequence text, int index, int end, boolean lineFeed) {
+        if (index >= end) {
+            return false;
+        }
+        char character = text.charAt(index);
+        return character < charset.length && (charset[character] || lineFeed && character == '\n');
+    }
+
+    private boolean isDelimiter(CharSequence text, int index, int end) {
+        for (String delimiter : delimiters) {
+            if (regionMatches(text, index, end, delimiter)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks line count and line lengths in one pass, regex {@code (?=[^\n]{1,W}(\n[^\n]{1,W}){0,L-1}$)}.
+     *
+     * @return true if lines up to text end are within line limits
+     */
+    private boolean fitsLines(CharSequence text, int textStart, int start, int end) {
+        // line limits can't be met by text longer than maximal subfield length
+        if (end - start - 2 > maxCount) {
+            return false;
+        }
+        int lineCount = 1;
+        int lineLength = 0;
+        for (int index = start; ; index++) {
+            if (index >= end - 2 && lineLength > 0 && isTextEnd(text, textStart, index, end)) {
+                return true;
+            }
+            if (index == end) {
+                return false;
+            }
+            if (text.charAt(index) == '\n') {
+                if (lineLength == 0 || lineCount == maxLines) {
+                    return false;
+                }
+                lineCount++;
+                lineLength = 0;
+            } else if (++lineLength > maxLineLength) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Same as regex {@code $}, end of text or in front of a final line terminator.
+     */
+    private static boolean isTextEnd(CharSequence text, int textStart, int index, int end) {
+        if (index == end) {
+            return true;
+        }
+        if (index == end - 2) {
+            return text.charAt(index) == '\r' && text.charAt(index + 1) == '\n';
+        }
+        if (index == end - 1) {
+            char character = text.charAt(index);
+            if (character == '\n') {
+                return index == textStart || text.charAt(index - 1) != '\r';
+            }
+            return character == '\r' || character == '\u0085' || character == '\u2028' || character == '\u2029';
+        }
+        return false;
+    }
+
+    private static boolean regionMatches(CharSequence text, int index, int end, String region) {
+        if (end - index < region.length()) {
+            return false;
+        }
+        for (int regionIndex = 0; regionIndex < region.length(); regionIndex++) {
+            if (text.charAt(index + regionIndex) != region.charAt(regionIndex)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
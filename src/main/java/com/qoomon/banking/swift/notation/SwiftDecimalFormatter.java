@@ -1,40 +1,225 @@
 package com.qoomon.banking.swift.notation;
 
+import com.google.common.base.Preconditions;
+
 import java.math.BigDecimal;
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
-import java.text.ParseException;
 
 /**
+ * Parses and formats swift decimals (charset d), e.g. "1234,56", "1234,", "0,5".
+ * Digits are followed by a mandatory decimal comma and an optional fractional part.
+ * <p>
+ * Stateless and therefore thread-safe.
+ * <p>
  * Created by qoomon on 21/07/16.
  */
 public class SwiftDecimalFormatter {
 
-    private final static DecimalFormat DECIMAL_FORMAT = new DecimalFormat();
+    private static final char DECIMAL_SEPARATOR = ',';
 
-    static {
-        DecimalFormatSymbols decimalFormatSymbols = new DecimalFormatSymbols();
-        decimalFormatSymbols.setDecimalSeparator(',');
+    private static final char MINUS_SIGN = '-';
+
+    private static final long[] POWERS_OF_TEN = new long[19];
 
-        DECIMAL_FORMAT.setDecimalSeparatorAlwaysShown(true);
-        DECIMAL_FORMAT.setGroupingUsed(false);
-        DECIMAL_FORMAT.setMinimumIntegerDigits(1);
-        DECIMAL_FORMAT.setMinimumFractionDigits(0);
-        DECIMAL_FORMAT.setDecimalFormatSymbols(decimalFormatSymbols);
-        DECIMAL_FORMAT.setMaximumFractionDigits(Integer.MAX_VALUE);
-        DECIMAL_FORMAT.setParseBigDecimal(true);
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int exponent = 1; exponent < POWERS_OF_TEN.length; exponent++) {
+            POWERS_OF_TEN[exponent] = POWERS_OF_TEN[exponent - 1] * 10;
+        }
     }
 
+    /**
+     * @param numberText decimal text, scale is the number of fraction digits
+     * @return decimal number
+     * @throws IllegalArgumentException on invalid decimal text
+     */
     public static BigDecimal parse(String numberText) {
-        try {
-            return (BigDecimal) DECIMAL_FORMAT.parse(numberText);
-        } catch (ParseException e) {
-            throw new IllegalArgumentException(e);
+        Preconditions.checkArgument(numberText != null, "numberText can't be null");
+
+        return parse(numberText, 0, numberText.length());
+    }
+
+    /**
+     * @param text  text containing decimal text
+     * @param start decimal text start, inclusive
+     * @param end   decimal text end, exclusive
+     * @return decimal number, scale is the number of fraction digits
+     * @throws IllegalArgumentException on invalid decimal text
+     */
+    public static BigDecimal parse(CharSequence text, int start, int end) {
+        int separatorIndex = validate(text, start, end);
+
+        boolean negative = text.charAt(start) == MINUS_SIGN;
+        long unscaledValue = 0;
+        for (int index = negative ? start + 1 : start; index < end; index++) {
+            if (index == separatorIndex) {
+                continue;
+            }
+            int digit = text.charAt(index) - '0';
+            if (unscaledValue > (Long.MAX_VALUE - digit) / 10) {
+                // exceeds long, rare
+                String numberText = text.subSequence(start, end).toString().replace(DECIMAL_SEPARATOR, '.');
+                return new BigDecimal(numberText);
+            }
+            unscaledValue = unscaledValue * 10 + digit;
         }
+        return BigDecimal.valueOf(negative ? -unscaledValue : unscaledValue, end - separatorIndex - 1);
     }
 
+    /**
+     * Parses into a fixed scale, e.g. "12,3" with scale 2 is 1230
+     *
+     * @param numberText decimal text
+     * @param scale      scale of result
+     * @return unscaled value
+     * @throws IllegalArgumentException on invalid decimal text
+     * @throws ArithmeticException      if value is not representable with scale as long
+     */
+    public static long parseUnscaled(CharSequence numberText, int scale) {
+        Preconditions.checkArgument(numberText != null, "numberText can't be null");
+        Preconditions.checkArgument(scale >= 0 && scale < POWERS_OF_TEN.length, "scale has to be between 0 and %s", POWERS_OF_TEN.length - 1);
+
+        int start = 0;
+        int end = numberText.length();
+        int separatorIndex = validate(numberText, start, end);
+
+        boolean negative = numberText.charAt(start) == MINUS_SIGN;
+        long unscaledValue = 0;
+        int fractionDigits = 0;
+        for (int index = negative ? start + 1 : start; index < end; index++) {
+            if (index == separatorIndex) {
+                continue;
+            }
+            int digit = numberText.charAt(index) - '0';
+            if (index > separatorIndex && ++fractionDigits > scale) {
+                if (digit != 0) {
+                    throw new ArithmeticException("'" + numberText + "' has more than " + scale + " fraction digits");
+                }
+                continue;
+            }
+            unscaledValue = Math.addExact(Math.multiplyExact(unscaledValue, 10), digit);
+        }
+        if (fractionDigits < scale) {
+            unscaledValue = Math.multiplyExact(unscaledValue, POWERS_OF_TEN[scale - fractionDigits]);
+        }
+        return negative ? -unscaledValue : unscaledValue;
+    }
+
+    /**
+     * @param numberText decimal text
+     * @return number of fraction digits, scale of {@link #parse(String)} result
+     * @throws IllegalArgumentException on invalid decimal text
+     */
+    public static int scaleOf(CharSequence numberText) {
+        Preconditions.checkArgument(numberText != null, "numberText can't be null");
+
+        return numberText.length() - validate(numberText, 0, numberText.length()) - 1;
+    }
+
+    /**
+     * @param number decimal number
+     * @return decimal text, without trailing fraction zeros
+     */
     public static String format(BigDecimal number) {
-        return DECIMAL_FORMAT.format(number);
+        Preconditions.checkArgument(number != null, "number can't be null");
+
+        StringBuilder builder = new StringBuilder();
+        formatTo(builder, number);
+        return builder.toString();
+    }
+
+    /**
+     * @param unscaledValue unscaled value
+     * @param scale         scale of value, e.g. 2 for cents
+     * @return decimal text, without trailing fraction zeros
+     */
+    public static String format(long unscaledValue, int scale) {
+        StringBuilder builder = new StringBuilder();
+        formatTo(builder, unscaledValue, scale);
+        return builder.toString();
+    }
+
+    /**
+     * @param builder receives decimal text, without trailing fraction zeros
+     * @param number  decimal number
+     */
+    public static void formatTo(StringBuilder builder, BigDecimal number) {
+        Preconditions.checkArgument(number != null, "number can't be null");
+
+        if (number.scale() >= 0 && number.scale() < POWERS_OF_TEN.length && number.precision() < POWERS_OF_TEN.length) {
+            formatTo(builder, number.unscaledValue().longValue(), number.scale());
+            return;
+        }
+
+        BigDecimal strippedNumber = number.signum() == 0 ? BigDecimal.ZERO : number.stripTrailingZeros();
+        if (strippedNumber.scale() <= 0) {
+            builder.append(strippedNumber.toPlainString()).append(DECIMAL_SEPARATOR);
+        } else {
+            builder.append(strippedNumber.toPlainString().replace('.', DECIMAL_SEPARATOR));
+        }
+    }
+
+    /**
+     * @param builder       receives decimal text, without trailing fraction zeros
+     * @param unscaledValue unscaled value
+     * @param scale         scale of value, e.g. 2 for cents
+     */
+    public static void formatTo(StringBuilder builder, long unscaledValue, int scale) {
+        Preconditions.checkArgument(scale >= 0 && scale < POWERS_OF_TEN.length, "scale has to be between 0 and %s", POWERS_OF_TEN.length - 1);
+        if (unscaledValue == Long.MIN_VALUE) {
+            formatTo(builder, BigDecimal.valueOf(unscaledValue, scale));
+            return;
+        }
+
+        if (unscaledValue < 0) {
+            builder.append(MINUS_SIGN);
+        }
+        long value = Math.abs(unscaledValue);
+        long integerPart = value / POWERS_OF_TEN[scale];
+        long fractionPart = value % POWERS_OF_TEN[scale];
+        builder.append(integerPart).append(DECIMAL_SEPARATOR);
+        if (fractionPart != 0) {
+            // strip trailing zeros
+            int fractionDigits = scale;
+            while (fractionPart % 10 == 0) {
+                fractionPart /= 10;
+                fractionDigits--;
+            }
+            for (int leadingZeros = fractionDigits - digitCount(fractionPart); leadingZeros > 0; leadingZeros--) {
+                builder.append('0');
+            }
+            builder.append(fractionPart);
+        }
+    }
+
+    /**
+     * @return index of decimal separator
+     * @throws IllegalArgumentException on invalid decimal text
+     */
+    private static int validate(CharSequence text, int start, int end) {
+        Preconditions.checkArgument(text != null, "text can't be null");
+
+        int digitsStart = start < end && text.charAt(start) == MINUS_SIGN ? start + 1 : start;
+        int separatorIndex = -1;
+        for (int index = digitsStart; index < end; index++) {
+            char character = text.charAt(index);
+            if (character == DECIMAL_SEPARATOR && separatorIndex == -1 && index > digitsStart) {
+                separatorIndex = index;
+            } else if (character < '0' || character > '9') {
+                throw new IllegalArgumentException("Invalid decimal '" + text.subSequence(start, end) + "' at index " + (index - start));
+            }
+        }
+        if (separatorIndex == -1) {
+            throw new IllegalArgumentException("Invalid decimal '" + text.subSequence(start, end) + "', missing decimal separator '" + DECIMAL_SEPARATOR + "'");
+        }
+        return separatorIndex;
+    }
+
+    private static int digitCount(long value) {
+        int digitCount = 1;
+        while (digitCount < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[digitCount]) {
+            digitCount++;
+        }
+        return digitCount;
     }
 
 }
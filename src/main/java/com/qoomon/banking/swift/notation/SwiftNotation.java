@@ -4,6 +4,8 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -39,8 +41,6 @@ import java.util.regex.Pattern;
  */
 public class SwiftNotation {
 
-    private final static Pattern DECIMAL_NUMBER_PATTERN = Pattern.compile("[0-9]+,[0-9]*");
-
     private static final Map<String, String> SEPARATOR_MAP = new HashMap<>();
 
     static {
@@ -50,22 +50,28 @@ public class SwiftNotation {
         SEPARATOR_MAP.put("BR", "\n");
     }
 
-    private static final Map<String, String> CHARSET_REGEX_MAP = new HashMap<>();
+    private static final String UPPER_CASE_LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final String LOWER_CASE_LETTERS = "abcdefghijklmnopqrstuvwxyz";
+    private static final String DIGITS = "0123456789";
+    private static final String SWIFT_X_SIGNS = " +,-./?:()'";
+    private static final String SWIFT_Y_SIGNS = SWIFT_X_SIGNS + "=!\"%&*<>;";
+
+    private static final Map<String, boolean[]> CHARSET_MAP = new HashMap<>();
 
     static {
         // see class description for charset details
-        CHARSET_REGEX_MAP.put("a", "[A-Z]");
-        CHARSET_REGEX_MAP.put("n", "[0-9]");
-        CHARSET_REGEX_MAP.put("c", "[0-9A-Z]");
-        CHARSET_REGEX_MAP.put("d", "[0-9,]");
-        CHARSET_REGEX_MAP.put("e", " ");
-        CHARSET_REGEX_MAP.put("s", "[+_]");
-        CHARSET_REGEX_MAP.put("h", "[0-9A-F]");
-        CHARSET_REGEX_MAP.put("x", "[ 0-9A-Za-z+-/?.:,()'\\n]");
-        CHARSET_REGEX_MAP.put("y", "[ 0-9A-Za-z+-/?.:,()'=!\"%&*<>;]");
-        CHARSET_REGEX_MAP.put("z", "[ 0-9A-Za-z+-/?.:,()'=!\"%&*<>;\\n]");
-        CHARSET_REGEX_MAP.put("A", "[A-Za-z]");
-        CHARSET_REGEX_MAP.put("B", "[0-9A-Za-z]");
+        CHARSET_MAP.put("a", charset(UPPER_CASE_LETTERS));
+        CHARSET_MAP.put("n", charset(DIGITS));
+        CHARSET_MAP.put("c", charset(DIGITS + UPPER_CASE_LETTERS));
+        CHARSET_MAP.put("d", charset(DIGITS + ","));
+        CHARSET_MAP.put("e", charset(" "));
+        CHARSET_MAP.put("s", charset("+_"));
+        CHARSET_MAP.put("h", charset(DIGITS + "ABCDEF"));
+        CHARSET_MAP.put("x", charset(DIGITS + UPPER_CASE_LETTERS + LOWER_CASE_LETTERS + SWIFT_X_SIGNS + "\n"));
+        CHARSET_MAP.put("y", charset(DIGITS + UPPER_CASE_LETTERS + LOWER_CASE_LETTERS + SWIFT_Y_SIGNS));
+        CHARSET_MAP.put("z", charset(DIGITS + UPPER_CASE_LETTERS + LOWER_CASE_LETTERS + SWIFT_Y_SIGNS + "\n"));
+        CHARSET_MAP.put("A", charset(UPPER_CASE_LETTERS + LOWER_CASE_LETTERS));
+        CHARSET_MAP.put("B", charset(DIGITS + UPPER_CASE_LETTERS + LOWER_CASE_LETTERS));
     }
 
     /**
@@ -75,19 +81,64 @@ public class SwiftNotation {
      * Group 4: Field length1
      * Group 5: Field charset
      */
-    private static final Pattern FIELD_NOTATION_PATTERN = Pattern.compile("(" + String.join("|", SEPARATOR_MAP.keySet()) + ")?([0-9]{1,2})([!\\-*])?([0-9]{1,2})?([" + String.join("", CHARSET_REGEX_MAP.keySet()) + "])");
+    private static final Pattern FIELD_NOTATION_PATTERN = Pattern.compile("(" + String.join("|", SEPARATOR_MAP.keySet()) + ")?([0-9]{1,2})([!\\-*])?([0-9]{1,2})?([" + String.join("", CHARSET_MAP.keySet()) + "])");
+
+    /**
+     * Field notation or field notation in brackets for optional fields
+     */
+    private static final Pattern OPTIONAL_FIELD_NOTATION_PATTERN = Pattern.compile("\\[" + FIELD_NOTATION_PATTERN + "\\]" + "|" + FIELD_NOTATION_PATTERN);
+
+    // unbounded, meant for a fixed set of notations, see of(String)
+    private static final ConcurrentMap<String, SwiftNotation> NOTATION_REGISTRY = new ConcurrentHashMap<>();
 
 
     private final String notation;
     private final List<FieldNotation> swiftFieldNotations;
-    private final List<Pattern> swiftFieldNotationPatterns;
+    private final List<SubfieldMatcher> swiftFieldNotationMatchers;
+
+
+    /**
+     * Notations are immutable and thread-safe, so every notation is compiled once and shared.
+     * Compiled notations are kept for the lifetime of the application, so this is meant for a fixed set of notations,
+     * e.g. the constants of field classes. Notations of variable input should be created by {@link #SwiftNotation(String)}.
+     *
+     * @param notation swift notation e.g. "6!n[4!n]"
+     * @return compiled notation
+     * @throws SwiftNotationParseException on invalid notation
+     */
+    public static SwiftNotation of(String notation) {
+        Preconditions.checkArgument(notation != null, "notation can't be null");
+
+        SwiftNotation swiftNotation = NOTATION_REGISTRY.get(notation);
+        if (swiftNotation == null) {
+            swiftNotation = NOTATION_REGISTRY.computeIfAbsent(notation, SwiftNotation::new);
+        }
+        return swiftNotation;
+    }
+
+    /**
+     * Compiles notations ahead of their first use, e.g. during application start up.
+     *
+     * @param notations swift notations
+     * @throws SwiftNotationParseException on invalid notation
+     */
+    public static void precompile(String... notations) {
+        Preconditions.checkArgument(notations != null, "notations can't be null");
 
+        for (String notation : notations) {
+            of(notation);
+        }
+    }
 
+    /**
+     * @param notation swift notation e.g. "6!n[4!n]"
+     * @see #of(String)
+     */
     public SwiftNotation(String notation) {
 
         this.notation = notation;
         this.swiftFieldNotations = parseSwiftNotation(notation);
-        this.swiftFieldNotationPatterns = generateSubfieldPatterns(this.swiftFieldNotations);
+        this.swiftFieldNotationMatchers = generateSubfieldMatchers(this.swiftFieldNotations);
     }
 
 
@@ -99,37 +150,69 @@ public class SwiftNotation {
      * @throws FieldNotationParseException on invalid field values
      */
     public String render(List<String> fieldValues) throws FieldNotationParseException {
+        StringBuilder resultBuilder = new StringBuilder();
+        renderTo(resultBuilder, fieldValues);
+        return resultBuilder.toString();
+    }
+
+    /**
+     * Render field values to builder, without intermediate strings
+     *
+     * @param builder     receives rendered field, left unchanged on invalid field values
+     * @param fieldValues field values, NULL for missing optional fields
+     * @throws FieldNotationParseException on invalid field values
+     */
+    public void renderTo(StringBuilder builder, CharSequence... fieldValues) throws FieldNotationParseException {
+        renderTo(builder, Arrays.asList(fieldValues));
+    }
+
+    /**
+     * Render field values to builder, without intermediate strings
+     *
+     * @param builder     receives rendered field, left unchanged on invalid field values
+     * @param fieldValues field values, NULL for missing optional fields
+     * @throws FieldNotationParseException on invalid field values
+     */
+    public void renderTo(StringBuilder builder, List<? extends CharSequence> fieldValues) throws FieldNotationParseException {
+        Preconditions.checkArgument(builder != null, "builder can't be null");
+        Preconditions.checkArgument(fieldValues != null, "fieldValues can't be null");
 
         if (fieldValues.size() != swiftFieldNotations.size()) {
             throw new FieldNotationParseException("Expected fieldValues count " + swiftFieldNotations.size() + ", but was " + fieldValues.size(), 0);
         }
 
-        StringBuilder resultBuilder = new StringBuilder();
+        int renderStart = builder.length();
 
         int fieldIndex = -1;
         for (FieldNotation fieldNotation : swiftFieldNotations) {
             fieldIndex++;
-            Pattern fieldPattern = swiftFieldNotationPatterns.get(fieldIndex);
-            String fieldValue = fieldValues.get(fieldIndex);
+            SubfieldMatcher fieldMatcher = swiftFieldNotationMatchers.get(fieldIndex);
+            CharSequence fieldValue = fieldValues.get(fieldIndex);
 
             if (fieldValue == null) {
                 if (!fieldNotation.isOptional()) {
-                    throw new FieldNotationParseException("Mandatory field '" + fieldIndex + "' value can't be null", resultBuilder.length());
+                    int errorIndex = builder.length() - renderStart;
+                    builder.setLength(renderStart);
+                    throw new FieldNotationParseException("Mandatory field '" + fieldIndex + "' value can't be null", errorIndex);
                 }
             } else {
-                String renderedFieldValue = fieldNotation.getPrefix().map(SEPARATOR_MAP::get).orElse("") + fieldValue;
-                Matcher fieldMatcher = fieldPattern.matcher(renderedFieldValue);
-                if (!fieldMatcher.find() || fieldMatcher.end() != renderedFieldValue.length()) {
-                    throw new FieldNotationParseException("Field value '" + renderedFieldValue + "' didn't match " + fieldNotation, resultBuilder.toString().length());
+                int fieldStart = builder.length();
+                fieldNotation.getPrefix().ifPresent(prefix -> builder.append(SEPARATOR_MAP.get(prefix)));
+                builder.append(fieldValue);
+
+                // validate against rendered field value only
+                int fieldEnd = fieldMatcher.match(builder, fieldStart, fieldStart);
+                if (fieldEnd == -1 && fieldNotation.isOptional()) {
+                    // optional subfield matches empty value
+                    fieldEnd = fieldStart;
+                }
+                if (fieldEnd != builder.length()) {
+                    String renderedFieldValue = builder.substring(fieldStart);
+                    builder.setLength(renderStart);
+                    throw new FieldNotationParseException("Field value '" + renderedFieldValue + "' didn't match " + fieldNotation, fieldStart - renderStart);
                 }
-
-                resultBuilder.append(renderedFieldValue);
             }
         }
-
-
-        return resultBuilder.toString();
-
     }
 
     /**
@@ -141,71 +224,113 @@ public class SwiftNotation {
      */
     public List<String> parse(String fieldText) throws FieldNotationParseException {
 
-        int parseIndex = 0;
+        int[] bounds = new int[swiftFieldNotations.size() * 2];
+        parseInto(fieldText, bounds);
+
+        List<String> result = new ArrayList<>(swiftFieldNotations.size());
+        for (int fieldIndex = 0; fieldIndex < swiftFieldNotations.size(); fieldIndex++) {
+            int fieldStart = bounds[fieldIndex * 2];
+            result.add(fieldStart == -1 ? null : fieldText.substring(fieldStart, bounds[fieldIndex * 2 + 1]));
+        }
+        return result;
+    }
+
+    /**
+     * Parse sub fields without creating strings. Sub field values can be read as
+     * {@code fieldText.subSequence(bounds[2 * i], bounds[2 * i + 1])}.
+     *
+     * @param fieldText Text to parse
+     * @param bounds    receives start and end index of every sub field value, without prefix. Missing optional fields are represented as -1
+     * @throws FieldNotationParseException on invalid field values
+     */
+    public void parseInto(CharSequence fieldText, int[] bounds) throws FieldNotationParseException {
+        Preconditions.checkArgument(fieldText != null, "fieldText can't be null");
+        Preconditions.checkArgument(bounds != null && bounds.length >= swiftFieldNotations.size() * 2,
+                "bounds can't be null and needs two entries per sub field");
 
-        List<String> result = new LinkedList<>();
+        int parseIndex = 0;
 
         int fieldIndex = -1;
         for (FieldNotation fieldNotation : swiftFieldNotations) {
             fieldIndex++;
-            Pattern fieldPattern = swiftFieldNotationPatterns.get(fieldIndex);
-
-            Matcher fieldMatcher = fieldPattern.matcher(fieldText).region(parseIndex, fieldText.length());
-            if (!fieldMatcher.find()) {
+            SubfieldMatcher fieldMatcher = swiftFieldNotationMatchers.get(fieldIndex);
+
+            int fieldStart = -1;
+            int fieldEnd = fieldMatcher.match(fieldText, parseIndex);
+            if (fieldEnd != -1) {
+                fieldStart = parseIndex + fieldMatcher.getPrefixLength();
+                parseIndex = fieldEnd;
+            } else if (!fieldNotation.isOptional()) {
                 throw new FieldNotationParseException("Field does not match notation " + fieldNotation + ". "
-                        + "'" + fieldText.substring(parseIndex) + "'", parseIndex);
+                        + "'" + remainder(fieldText, parseIndex) + "'", parseIndex);
             }
-            String fieldValue = fieldMatcher.group(1);
-
-            parseIndex = fieldMatcher.end();
 
             // special handling for d charset due to only on comma constraint
-            if (fieldNotation.getCharSet().equals("d")) {
-                Matcher decimalCharsetMatcher = DECIMAL_NUMBER_PATTERN.matcher(fieldValue);
-                if (!decimalCharsetMatcher.matches()) {
-                    throw new FieldNotationParseException("Field does not match notation " + fieldNotation + ". "
-                            + "'" + fieldText.substring(parseIndex) + "'", parseIndex);
-                }
+            if (fieldStart != -1 && fieldNotation.getCharSet().equals("d") && !isDecimalNumber(fieldText, fieldStart, fieldEnd)) {
+                throw new FieldNotationParseException("Field does not match notation " + fieldNotation + ". "
+                        + "'" + remainder(fieldText, parseIndex) + "'", parseIndex);
             }
 
-            // add field value
-            result.add(fieldValue);
+            bounds[fieldIndex * 2] = fieldStart;
+            bounds[fieldIndex * 2 + 1] = fieldEnd;
         }
 
         if (parseIndex != fieldText.length()) {
             throw new FieldNotationParseException("Unparsed characters remain."
-                    + "'" + fieldText.substring(parseIndex) + "'", parseIndex);
+                    + "'" + remainder(fieldText, parseIndex) + "'", parseIndex);
         }
+    }
 
-        return result;
+    private static String remainder(CharSequence fieldText, int index) {
+        return fieldText.subSequence(index, fieldText.length()).toString();
+    }
+
+    /**
+     * same as regex [0-9]+,[0-9]*
+     */
+    private static boolean isDecimalNumber(CharSequence text, int start, int end) {
+        int commaIndex = -1;
+        for (int index = start; index < end; index++) {
+            char character = text.charAt(index);
+            if (character == ',' && commaIndex == -1 && index > start) {
+                commaIndex = index;
+            } else if (character < '0' || character > '9') {
+                return false;
+            }
+        }
+        return commaIndex != -1;
+    }
+
+    private static boolean[] charset(String characters) {
+        boolean[] charset = new boolean[128];
+        for (char character : characters.toCharArray()) {
+            charset[character] = true;
+        }
+        return charset;
     }
 
     /**
      * select charset
      * handle delimiter
      * handle length
-     * group field value
      * handle prefix
-     * set optional if so
      *
      * @param fieldNotationList
-     * @return patterns for continuous field matching
+     * @return matchers for continuous field matching
      */
-    private static List<Pattern> generateSubfieldPatterns(List<FieldNotation> fieldNotationList) {
+    private static List<SubfieldMatcher> generateSubfieldMatchers(List<FieldNotation> fieldNotationList) {
         Preconditions.checkArgument(fieldNotationList != null, "fieldNotationList can't be null");
 
-        List<Pattern> patterns = new ArrayList<>(fieldNotationList.size());
+        List<SubfieldMatcher> matchers = new ArrayList<>(fieldNotationList.size());
         int fieldIndex = -1;
         for (FieldNotation currentSubfield : fieldNotationList) {
             fieldIndex++;
             // select charset
-            String charSetRegex = CHARSET_REGEX_MAP.get(currentSubfield.getCharSet());
-            if (charSetRegex == null) {
+            boolean[] charset = CHARSET_MAP.get(currentSubfield.getCharSet());
+            if (charset == null) {
                 throw new IllegalArgumentException("Unknown charset: " + currentSubfield.getCharSet());
             }
 
-            // handle delimiter if any
-            String delimiterLookaheadRegex = "";
             // collect possible delimiters
             List<String> fieldDelimiterList = new LinkedList<>();
             List<FieldNotation> upcomingFieldNotations = fieldNotationList.subList(fieldIndex + 1, fieldNotationList.size());
@@ -217,72 +342,49 @@ public class SwiftNotation {
                     break;
                 }
             }
-            if (!fieldDelimiterList.isEmpty()) {
-                delimiterLookaheadRegex = "(?!" + String.join("|", fieldDelimiterList) + ")";
-            }
 
-            // create field regex
-            String subFieldRegex;
+            // handle prefix
+            String prefix = currentSubfield.getPrefix().map(SEPARATOR_MAP::get).orElse("");
 
             // handle length
+            SubfieldMatcher matcher;
             Optional<String> lengthSign = currentSubfield.getLengthSign();
             if (!lengthSign.isPresent()) {
                 int maxCharacters = currentSubfield.getLength0();
-                subFieldRegex = "(:?" + delimiterLookaheadRegex + charSetRegex + ")" + "{1," + maxCharacters + "}";
+                matcher = SubfieldMatcher.of(prefix, charset, fieldDelimiterList, 1, maxCharacters);
             } else {
                 switch (lengthSign.get()) {
                     case FieldNotation.FIXED_LENGTH_SIGN: {
                         int fixedCharacters = currentSubfield.getLength0();
-                        subFieldRegex = "(:?" + delimiterLookaheadRegex + charSetRegex + ")" + "{" + fixedCharacters + "}";
+                        matcher = SubfieldMatcher.of(prefix, charset, fieldDelimiterList, fixedCharacters, fixedCharacters);
                         break;
                     }
                     case FieldNotation.RANGE_LENGTH_SIGN: {
                         int minCharacters = currentSubfield.getLength0();
                         int maxCharacters = currentSubfield.getLength1().get();
-                        subFieldRegex = "(:?" + delimiterLookaheadRegex + charSetRegex + ")" + "{" + minCharacters + "," + maxCharacters + "}";
+                        matcher = SubfieldMatcher.of(prefix, charset, fieldDelimiterList, minCharacters, maxCharacters);
                         break;
                     }
                     case FieldNotation.MULTILINE_LENGTH_SIGN: {
                         int maxLines = currentSubfield.getLength0();
                         int maxLineCharacters = currentSubfield.getLength1().get();
-                        String lineCharactersRegexRange = "{1," + maxLineCharacters + "}";
-                        String lineRegex = "[^\\n]" + lineCharactersRegexRange;
-                        subFieldRegex = "(?=" + lineRegex + "(\\n" + lineRegex + ")" + "{0," + (maxLines - 1) + "}" + "$)" // lookahead for maxLines
-                                + "(:?" + delimiterLookaheadRegex + "(:?" + charSetRegex + "|\\n)" + ")" // add new line character to charset
-                                + "{1," + (maxLines * maxLineCharacters + (maxLines - 1)) + "}$";  // calculate max length including newline signs
+                        matcher = SubfieldMatcher.ofMultiline(prefix, charset, fieldDelimiterList, maxLines, maxLineCharacters);
                         break;
                     }
                     default:
                         throw new RuntimeException("Unsupported length sign '" + lengthSign + "'");
                 }
             }
-
-            // group field value
-            subFieldRegex = "(" + subFieldRegex + ")";
-
-            // handle prefix
-            Optional<String> prefix = currentSubfield.getPrefix();
-            if (prefix.isPresent()) {
-                subFieldRegex = SEPARATOR_MAP.get(prefix.get()) + subFieldRegex;
-            }
-
-            // make field optional if so
-            if (currentSubfield.isOptional()) {
-                subFieldRegex = "(?:" + subFieldRegex + ")?";
-            }
-
-            Pattern pattern = Pattern.compile("^" + subFieldRegex);
-            patterns.add(pattern);
+            matchers.add(matcher);
         }
 
-        return ImmutableList.copyOf(patterns);
+        return ImmutableList.copyOf(matchers);
     }
 
     public List<FieldNotation> parseSwiftNotation(String swiftNotation) {
         List<FieldNotation> result = new LinkedList<>();
 
-        Pattern fieldNotationPattern = Pattern.compile("\\[" + FIELD_NOTATION_PATTERN + "\\]" + "|" + FIELD_NOTATION_PATTERN);
-        Matcher fieldNotationMatcher = fieldNotationPattern.matcher(swiftNotation);
+        Matcher fieldNotationMatcher = OPTIONAL_FIELD_NOTATION_PATTERN.matcher(swiftNotation);
         int parseIndex = 0;
         while (fieldNotationMatcher.find(parseIndex)) {
             if (fieldNotationMatcher.start() != parseIndex) {
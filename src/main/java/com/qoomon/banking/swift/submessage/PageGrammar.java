@@ -0,0 +1,300 @@
+package com.qoomon.banking.swift.submessage;
+
+import com.google.common.base.Preconditions;
+import com.qoomon.banking.swift.submessage.field.FieldTag;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Field order of a page, described by a sequence of fields, optional, repeated and alternative elements, e.g.
+ * <pre>
+ * PageGrammar.of(
+ *         field(TAG_20),
+ *         optional(field(TAG_21)),
+ *         repeated(field(TAG_61), optional(field(TAG_86))),
+ *         field(SEPARATOR));
+ * </pre>
+ * The description is compiled once into a dense transition table, so checking the next field is a single array lookup.
+ *
+ * @see PageReader#nextGrammarState(com.qoomon.banking.swift.submessage.field.GeneralField, PageGrammar, int, com.qoomon.banking.swift.submessage.field.SwiftFieldReader)
+ */
+public final class PageGrammar {
+
+    public static final int START_STATE = 0;
+
+    public static final int INVALID_STATE = -1;
+
+    private static final int TAG_COUNT = FieldTag.values().length;
+
+    // next state by state and tag ordinal
+    private final int[] transitions;
+
+    // expected tag mask by state
+    private final long[] expectedFieldTags;
+
+
+    private PageGrammar(int[] transitions, long[] expectedFieldTags) {
+        this.transitions = transitions;
+        this.expectedFieldTags = expectedFieldTags;
+    }
+
+    /**
+     * @param elements page elements in order
+     * @return compiled grammar
+     */
+    public static PageGrammar of(Element... elements) {
+        Preconditions.checkArgument(elements != null && elements.length > 0, "elements can't be null or empty");
+
+        // positions are the field elements, Glushkov construction
+        List<Long> positionTags = new ArrayList<>();
+        List<BitSet> positionFollows = new ArrayList<>();
+        Fragment fragment = new SequenceElement(elements).compile(positionTags, positionFollows);
+
+        // subset construction, start state is the empty set
+        List<BitSet> states = new ArrayList<>();
+        Map<BitSet, Integer> stateIndexMap = new HashMap<>();
+        states.add(new BitSet());
+        stateIndexMap.put(new BitSet(), START_STATE);
+
+        List<int[]> transitionRows = new ArrayList<>();
+        List<Long> expectedFieldTagList = new ArrayList<>();
+        for (int stateIndex = 0; stateIndex < states.size(); stateIndex++) {
+            BitSet state = states.get(stateIndex);
+
+            BitSet candidates = new BitSet();
+            if (stateIndex == START_STATE) {
+                candidates.or(fragment.first);
+            } else {
+                state.stream().forEach(position -> candidates.or(positionFollows.get(position)));
+            }
+
+            int[] transitionRow = new int[TAG_COUNT];
+            long expectedTagMask = 0;
+            for (FieldTag fieldTag : FieldTag.values()) {
+                BitSet nextState = new BitSet();
+                candidates.stream()
+                        .filter(position -> fieldTag.isContainedIn(positionTags.get(position)))
+                        .forEach(nextState::set);
+                if (nextState.isEmpty()) {
+                    transitionRow[fieldTag.ordinal()] = INVALID_STATE;
+                    continue;
+                }
+                Integer nextStateIndex = stateIndexMap.get(nextState);
+                if (nextStateIndex == null) {
+                    nextStateIndex = states.size();
+                    states.add(nextState);
+                    stateIndexMap.put(nextState, nextStateIndex);
+                }
+                transitionRow[fieldTag.ordinal()] = nextStateIndex;
+                expectedTagMask |= fieldTag.mask();
+            }
+            transitionRows.add(transitionRow);
+            expectedFieldTagList.add(expectedTagMask);
+        }
+
+        int[] transitions = new int[states.size() * TAG_COUNT];
+        long[] expectedFieldTags = new long[states.size()];
+        for (int stateIndex = 0; stateIndex < states.size(); stateIndex++) {
+            System.arraycopy(transitionRows.get(stateIndex), 0, transitions, stateIndex * TAG_COUNT, TAG_COUNT);
+            expectedFieldTags[stateIndex] = expectedFieldTagList.get(stateIndex);
+        }
+        return new PageGrammar(transitions, expectedFieldTags);
+    }
+
+    /**
+     * @param tags alternative tags of the field
+     * @return single field
+     */
+    public static Element field(FieldTag... tags) {
+        Preconditions.checkArgument(tags != null && tags.length > 0, "tags can't be null or empty");
+        return new FieldElement(FieldTag.maskOf(tags));
+    }
+
+    /**
+     * @return elements, which occur in order
+     */
+    public static Element sequence(Element... elements) {
+        return new SequenceElement(elements);
+    }
+
+    /**
+     * @return exactly one of the alternative elements
+     */
+    public static Element oneOf(Element... elements) {
+        return new AlternativeElement(elements);
+    }
+
+    /**
+     * @return elements, which occur once or not at all
+     */
+    public static Element optional(Element... elements) {
+        return new OptionalElement(new SequenceElement(elements));
+    }
+
+    /**
+     * @return elements, which occur any number of times
+     */
+    public static Element repeated(Element... elements) {
+        return new RepeatedElement(new SequenceElement(elements));
+    }
+
+    /**
+     * @param state    current state
+     * @param fieldTag tag of next field
+     * @return next state or {@link #INVALID_STATE} if field is not expected
+     */
+    public int next(int state, FieldTag fieldTag) {
+        return transitions[state * TAG_COUNT + fieldTag.ordinal()];
+    }
+
+    /**
+     * @param state current state
+     * @return expected tags of next field, see {@link FieldTag#tagsOf(long)}
+     */
+    public long getExpectedFieldTags(int state) {
+        return expectedFieldTags[state];
+    }
+
+    public int getStateCount() {
+        return expectedFieldTags.length;
+    }
+
+    /**
+     * Element of a page grammar
+     */
+    public abstract static class Element {
+
+        private Element() {
+        }
+
+        abstract Fragment compile(List<Long> positionTags, List<BitSet> positionFollows);
+    }
+
+    /**
+     * Compiled element. Positions are indices of field elements.
+     */
+    private static class Fragment {
+
+        private final boolean nullable;
+
+        private final BitSet first;
+
+        private final BitSet last;
+
+        Fragment(boolean nullable, BitSet first, BitSet last) {
+            this.nullable = nullable;
+            this.first = first;
+            this.last = last;
+        }
+    }
+
+    private static class FieldElement extends Element {
+
+        private final long tagMask;
+
+        FieldElement(long tagMask) {
+            this.tagMask = tagMask;
+        }
+
+        @Override
+        Fragment compile(List<Long> positionTags, List<BitSet> positionFollows) {
+            BitSet position = new BitSet();
+            position.set(positionTags.size());
+            positionTags.add(tagMask);
+            positionFollows.add(new BitSet());
+            return new Fragment(false, position, position);
+        }
+    }
+
+    private static class SequenceElement extends Element {
+
+        private final List<Element> elements;
+
+        SequenceElement(Element... elements) {
+            Preconditions.checkArgument(elements != null && elements.length > 0, "elements can't be null or empty");
+            this.elements = Arrays.asList(elements);
+        }
+
+        @Override
+        Fragment compile(List<Long> positionTags, List<BitSet> positionFollows) {
+            boolean nullable = true;
+            BitSet first = new BitSet();
+            BitSet last = new BitSet();
+            for (Element element : elements) {
+                Fragment fragment = element.compile(positionTags, positionFollows);
+                for (int position = last.nextSetBit(0); position >= 0; position = last.nextSetBit(position + 1)) {
+                    positionFollows.get(position).or(fragment.first);
+                }
+                if (nullable) {
+                    first.or(fragment.first);
+                }
+                if (!fragment.nullable) {
+                    last = new BitSet();
+                }
+                last.or(fragment.last);
+                nullable &= fragment.nullable;
+            }
+            return new Fragment(nullable, first, last);
+        }
+    }
+
+    private static class AlternativeElement extends Element {
+
+        private final List<Element> elements;
+
+        AlternativeElement(Element... elements) {
+            Preconditions.checkArgument(elements != null && elements.length > 0, "elements can't be null or empty");
+            this.elements = Arrays.asList(elements);
+        }
+
+        @Override
+        Fragment compile(List<Long> positionTags, List<BitSet> positionFollows) {
+            boolean nullable = false;
+            BitSet first = new BitSet();
+            BitSet last = new BitSet();
+            for (Element element : elements) {
+                Fragment fragment = element.compile(positionTags, positionFollows);
+                first.or(fragment.first);
+                last.or(fragment.last);
+                nullable |= fragment.nullable;
+            }
+            return new Fragment(nullable, first, last);
+        }
+    }
+
+    private static class OptionalElement extends Element {
+
+        private final Element element;
+
+        OptionalElement(Element element) {
+            this.element = element;
+        }
+
+        @Override
+        Fragment compile(List<Long> positionTags, List<BitSet> positionFollows) {
+            Fragment fragment = element.compile(positionTags, positionFollows);
+            return new Fragment(true, fragment.first, fragment.last);
+        }
+    }
+
+    private static class RepeatedElement extends Element {
+
+        private final Element element;
+
+        RepeatedElement(Element element) {
+            this.element = element;
+        }
+
+        @Override
+        Fragment compile(List<Long> positionTags, List<BitSet> positionFollows) {
+            Fragment fragment = element.compile(positionTags, positionFollows);
+            fragment.last.stream().forEach(position -> positionFollows.get(position).or(fragment.first));
+            return new Fragment(true, fragment.first, fragment.last);
+        }
+    }
+}
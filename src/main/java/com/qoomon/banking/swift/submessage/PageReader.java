@@ -1,13 +1,17 @@
 package com.qoomon.banking.swift.submessage;
 
+import com.qoomon.banking.swift.message.ReaderPublisher;
 import com.qoomon.banking.swift.message.exception.SwiftMessageParseException;
 import com.qoomon.banking.swift.submessage.exception.PageParserException;
+import com.qoomon.banking.swift.submessage.field.FieldTag;
 import com.qoomon.banking.swift.submessage.field.GeneralField;
 import com.qoomon.banking.swift.submessage.field.SwiftFieldReader;
 
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
 
 import static java.lang.String.join;
 
@@ -24,6 +28,17 @@ public abstract class PageReader<T extends Page> {
 
     public abstract T read() throws SwiftMessageParseException;
 
+    /**
+     * Pages are read on demand of the subscriber only.
+     *
+     * @param executor executor to read pages and signal the subscriber
+     * @return publisher of all remaining pages, supports one subscriber only
+     */
+    public final Flow.Publisher<T> publisher(Executor executor) {
+        return new ReaderPublisher<>(this::read, () -> {
+        }, executor);
+    }
+
     public static void ensureValidField(GeneralField field, Set<String> expectedFieldTagSet, SwiftFieldReader fieldReader) {
         if (field == null) {
             throw new PageParserException("Expected field(s): " + join(", ", expectedFieldTagSet) + "," +
@@ -34,4 +49,33 @@ public abstract class PageReader<T extends Page> {
                     " but was '" + field.getTag() + "'", fieldReader.getFieldLineNumber());
         }
     }
+
+    /**
+     * @param field        next field
+     * @param grammar      page grammar
+     * @param grammarState current grammar state
+     * @return grammar state after given field
+     * @throws PageParserException if field is not expected
+     */
+    public static int nextGrammarState(GeneralField field, PageGrammar grammar, int grammarState, SwiftFieldReader fieldReader) {
+        int nextGrammarState = field != null ? grammar.next(grammarState, field.getFieldTag()) : PageGrammar.INVALID_STATE;
+        if (nextGrammarState == PageGrammar.INVALID_STATE) {
+            ensureValidField(field, grammar.getExpectedFieldTags(grammarState), fieldReader);
+        }
+        return nextGrammarState;
+    }
+
+    /**
+     * @param expectedFieldTagMask expected field tags, see {@link FieldTag#maskOf(FieldTag...)}
+     */
+    public static void ensureValidField(GeneralField field, long expectedFieldTagMask, SwiftFieldReader fieldReader) {
+        if (field == null) {
+            throw new PageParserException("Expected field(s): " + join(", ", FieldTag.tagsOf(expectedFieldTagMask)) + "," +
+                    " but was end of file", fieldReader.getFieldLineNumber());
+        }
+        if (!field.getFieldTag().isContainedIn(expectedFieldTagMask)) {
+            throw new PageParserException("Expected field(s): " + join(", ", FieldTag.tagsOf(expectedFieldTagMask)) + "," +
+                    " but was '" + field.getTag() + "'", fieldReader.getFieldLineNumber());
+        }
+    }
 }
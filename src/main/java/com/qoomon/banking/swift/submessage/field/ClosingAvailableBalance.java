@@ -1,15 +1,12 @@
 package com.qoomon.banking.swift.submessage.field;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Lists;
 import com.qoomon.banking.swift.notation.FieldNotationParseException;
-import com.qoomon.banking.swift.notation.SwiftDecimalFormatter;
 import com.qoomon.banking.swift.notation.SwiftNotation;
 import com.qoomon.banking.swift.submessage.field.subfield.DebitCreditMark;
 import org.joda.money.BigMoney;
 import org.joda.money.CurrencyUnit;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -33,7 +30,7 @@ public class ClosingAvailableBalance implements SwiftField {
 
     public static final String FIELD_TAG_64 = "64";
 
-    public static final SwiftNotation SWIFT_NOTATION = new SwiftNotation("1!a6!n3!a15d");
+    public static final SwiftNotation SWIFT_NOTATION = SwiftNotation.of("1!a6!n3!a15d");
 
     private static final DateTimeFormatter ENTRY_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyMMdd");
 
@@ -41,15 +38,26 @@ public class ClosingAvailableBalance implements SwiftField {
 
     private final LocalDate entryDate;
 
-    private final BigMoney amount;
+    private final FieldAmount amount;
 
 
     public ClosingAvailableBalance(LocalDate entryDate, DebitCreditMark debitCreditMark, BigMoney amount) {
+        this(entryDate, debitCreditMark, FieldAmount.of(amount));
+    }
+
+    /**
+     * @param amountMinorUnits amount in minor units of currency, e.g. cents
+     */
+    public ClosingAvailableBalance(LocalDate entryDate, DebitCreditMark debitCreditMark, CurrencyUnit currency, long amountMinorUnits) {
+        this(entryDate, debitCreditMark, FieldAmount.ofMinorUnits(currency, amountMinorUnits));
+    }
+
+    private ClosingAvailableBalance(LocalDate entryDate, DebitCreditMark debitCreditMark, FieldAmount amount) {
 
         Preconditions.checkArgument(debitCreditMark != null, "debitCreditMark can't be null");
         Preconditions.checkArgument(entryDate != null, "entryDate can't be null");
         Preconditions.checkArgument(amount != null, "amount can't be null");
-        Preconditions.checkArgument(amount.isPositiveOrZero(), "amount can't be negative");
+        Preconditions.checkArgument(!amount.isNegative(), "amount can't be negative");
 
         this.debitCreditMark = debitCreditMark;
         this.entryDate = entryDate;
@@ -64,8 +72,7 @@ public class ClosingAvailableBalance implements SwiftField {
         DebitCreditMark debitCreditMark = DebitCreditMark.ofFieldValue(subFields.get(0));
         LocalDate entryDate = LocalDate.parse(subFields.get(1), ENTRY_DATE_FORMATTER);
         CurrencyUnit amountCurrency = CurrencyUnit.of(subFields.get(2));
-        BigDecimal amountValue = SwiftDecimalFormatter.parse(subFields.get(3));
-        BigMoney amount = BigMoney.of(amountCurrency, amountValue);
+        FieldAmount amount = FieldAmount.parse(amountCurrency, subFields.get(3));
 
         return new ClosingAvailableBalance(entryDate, debitCreditMark, amount);
     }
@@ -78,15 +85,38 @@ public class ClosingAvailableBalance implements SwiftField {
         return entryDate;
     }
 
+    public CurrencyUnit getCurrency() {
+        return amount.getCurrency();
+    }
+
     public BigMoney getAmount() {
-        return amount;
+        return amount.getMoney();
     }
 
     public BigMoney getSignedAmount() {
         if (getDebitCreditMark().sign() < 0) {
-            return amount.negated();
+            return getAmount().negated();
         }
-        return amount;
+        return getAmount();
+    }
+
+    /**
+     * @return amount in minor units of currency, e.g. cents
+     * @throws ArithmeticException if amount has more fraction digits than currency or exceeds long
+     */
+    public long getAmountMinorUnits() {
+        return amount.getMinorUnits();
+    }
+
+    /**
+     * @return signed amount in minor units of currency, e.g. cents
+     * @throws ArithmeticException if amount has more fraction digits than currency or exceeds long
+     */
+    public long getSignedAmountMinorUnits() {
+        if (getDebitCreditMark().sign() < 0) {
+            return Math.negateExact(getAmountMinorUnits());
+        }
+        return getAmountMinorUnits();
     }
 
     @Override
@@ -96,13 +126,19 @@ public class ClosingAvailableBalance implements SwiftField {
 
     @Override
     public String getContent() {
+        StringBuilder contentBuilder = new StringBuilder();
+        appendContentTo(contentBuilder);
+        return contentBuilder.toString();
+    }
+
+    @Override
+    public void appendContentTo(StringBuilder builder) {
         try {
-            return SWIFT_NOTATION.render(Lists.newArrayList(
+            SWIFT_NOTATION.renderTo(builder,
                     debitCreditMark.toFieldValue(),
                     ENTRY_DATE_FORMATTER.format(entryDate),
-                    amount.getCurrencyUnit().getCode(),
-                    SwiftDecimalFormatter.format(amount.getAmount())
-            ));
+                    amount.getCurrency().getCode(),
+                    amount.format());
         } catch (FieldNotationParseException e) {
             throw new IllegalStateException("Invalid field values within " + getClass().getSimpleName() + " instance", e);
         }
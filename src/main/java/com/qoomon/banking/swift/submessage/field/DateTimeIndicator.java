@@ -33,7 +33,9 @@ public class DateTimeIndicator implements SwiftField {
 
     public static final String FIELD_TAG_13D = "13D";
 
-    public static final SwiftNotation SWIFT_NOTATION = new SwiftNotation("6!n4!n1x4!n");
+    public static final SwiftNotation SWIFT_NOTATION = SwiftNotation.of("6!n4!n1x4!n");
+
+    private static final int SUB_FIELD_BOUNDS_LENGTH = SWIFT_NOTATION.getSwiftFieldNotations().size() * 2;
 
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyMMddHHmmZ");
 
@@ -68,11 +70,14 @@ public class DateTimeIndicator implements SwiftField {
 
     @Override
     public String getContent() {
+        String content = DATE_TIME_FORMATTER.format(dateTime);
         try {
-            return SWIFT_NOTATION.render(SWIFT_NOTATION.parse(DATE_TIME_FORMATTER.format(dateTime)));
+            // sub fields have no prefixes, so valid content is rendered as formatted
+            SWIFT_NOTATION.parseInto(content, new int[SUB_FIELD_BOUNDS_LENGTH]);
         } catch (FieldNotationParseException e) {
             throw new IllegalStateException("Invalid field values within " + getClass().getSimpleName() + " instance", e);
         }
+        return content;
     }
 
 }
@@ -0,0 +1,165 @@
+package com.qoomon.banking.swift.submessage.field;
+
+import com.google.common.base.Preconditions;
+import com.qoomon.banking.swift.notation.SwiftDecimalFormatter;
+import org.joda.money.BigMoney;
+import org.joda.money.CurrencyUnit;
+
+import java.math.BigDecimal;
+
+/**
+ * Amount of a field, kept as unscaled long and scale, e.g. 12,30 as 1230 and 2.
+ * {@link BigDecimal} and {@link BigMoney} are only created on request.
+ * Amounts beyond long are kept as {@link BigDecimal}.
+ * <p>
+ * Minor units are the unscaled value at the decimal places of the currency, e.g. cents.
+ */
+final class FieldAmount {
+
+    // long holds any 18 digit number
+    private static final int MAX_COMPACT_DIGITS = 18;
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_COMPACT_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int exponent = 1; exponent < POWERS_OF_TEN.length; exponent++) {
+            POWERS_OF_TEN[exponent] = POWERS_OF_TEN[exponent - 1] * 10;
+        }
+    }
+
+    // null for amounts without currency
+    private final CurrencyUnit currency;
+
+    private final long unscaledValue;
+
+    // -1 if amount does not fit, see decimal
+    private final int scale;
+
+    // created on first request, racy single check as both are immutable
+    private BigDecimal decimal;
+
+    private BigMoney money;
+
+
+    private FieldAmount(CurrencyUnit currency, long unscaledValue, int scale, BigDecimal decimal, BigMoney money) {
+        this.currency = currency;
+        this.unscaledValue = unscaledValue;
+        this.scale = scale;
+        this.decimal = decimal;
+        this.money = money;
+    }
+
+    /**
+     * @param amount amount without currency
+     */
+    static FieldAmount of(BigDecimal amount) {
+        Preconditions.checkArgument(amount != null, "amount can't be null");
+
+        return of(null, amount, null);
+    }
+
+    static FieldAmount of(BigMoney amount) {
+        Preconditions.checkArgument(amount != null, "amount can't be null");
+
+        return of(amount.getCurrencyUnit(), amount.getAmount(), amount);
+    }
+
+    private static FieldAmount of(CurrencyUnit currency, BigDecimal decimal, BigMoney money) {
+        BigDecimal scaledDecimal = decimal.scale() < 0 ? decimal.setScale(0) : decimal;
+        if (scaledDecimal.precision() > MAX_COMPACT_DIGITS || scaledDecimal.scale() > MAX_COMPACT_DIGITS) {
+            return new FieldAmount(currency, 0, -1, decimal, money);
+        }
+        return new FieldAmount(currency, scaledDecimal.unscaledValue().longValue(), scaledDecimal.scale(), decimal, money);
+    }
+
+    /**
+     * @param currency   currency
+     * @param minorUnits amount in minor units of currency, e.g. cents
+     */
+    static FieldAmount ofMinorUnits(CurrencyUnit currency, long minorUnits) {
+        Preconditions.checkArgument(currency != null, "currency can't be null");
+
+        return new FieldAmount(currency, minorUnits, currency.getDecimalPlaces(), null, null);
+    }
+
+    /**
+     * @param currency   currency or null
+     * @param numberText swift decimal text, see {@link SwiftDecimalFormatter}
+     */
+    static FieldAmount parse(CurrencyUnit currency, String numberText) {
+        int scale = SwiftDecimalFormatter.scaleOf(numberText);
+        if (scale > MAX_COMPACT_DIGITS || numberText.length() - 1 > MAX_COMPACT_DIGITS) {
+            BigDecimal decimal = SwiftDecimalFormatter.parse(numberText);
+            return currency != null ? of(BigMoney.of(currency, decimal)) : of(decimal);
+        }
+        return new FieldAmount(currency, SwiftDecimalFormatter.parseUnscaled(numberText, scale), scale, null, null);
+    }
+
+    CurrencyUnit getCurrency() {
+        return currency;
+    }
+
+    boolean isNegative() {
+        return scale < 0 ? decimal.signum() < 0 : unscaledValue < 0;
+    }
+
+    BigDecimal getDecimal() {
+        BigDecimal decimal = this.decimal;
+        if (decimal == null) {
+            decimal = BigDecimal.valueOf(unscaledValue, scale);
+            this.decimal = decimal;
+        }
+        return decimal;
+    }
+
+    BigMoney getMoney() {
+        BigMoney money = this.money;
+        if (money == null) {
+            money = BigMoney.of(currency, getDecimal());
+            this.money = money;
+        }
+        return money;
+    }
+
+    /**
+     * @return amount in minor units of currency, e.g. cents
+     * @throws ArithmeticException if amount has more fraction digits than currency or exceeds long
+     */
+    long getMinorUnits() {
+        return getMinorUnits(currency);
+    }
+
+    /**
+     * @param currency currency, which determines the decimal places
+     * @return amount in minor units of currency, e.g. cents
+     * @throws ArithmeticException if amount has more fraction digits than currency or exceeds long
+     */
+    long getMinorUnits(CurrencyUnit currency) {
+        int decimalPlaces = currency.getDecimalPlaces();
+        if (scale < 0) {
+            return decimal.setScale(decimalPlaces).unscaledValue().longValueExact();
+        }
+        if (scale == decimalPlaces) {
+            return unscaledValue;
+        }
+        if (scale < decimalPlaces) {
+            return Math.multiplyExact(unscaledValue, POWERS_OF_TEN[decimalPlaces - scale]);
+        }
+        long divisor = POWERS_OF_TEN[scale - decimalPlaces];
+        if (unscaledValue % divisor != 0) {
+            throw new ArithmeticException("amount has more than " + decimalPlaces + " fraction digits");
+        }
+        return unscaledValue / divisor;
+    }
+
+    /**
+     * @return swift decimal text, see {@link SwiftDecimalFormatter}
+     */
+    String format() {
+        if (scale < 0) {
+            return SwiftDecimalFormatter.format(decimal);
+        }
+        return SwiftDecimalFormatter.format(unscaledValue, scale);
+    }
+}
@@ -0,0 +1,126 @@
+package com.qoomon.banking.swift.submessage.field;
+
+import com.qoomon.banking.swift.submessage.PageSeparator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Field tags known by the page readers. Tags are interned by {@link SwiftFieldReader} while reading,
+ * see {@link GeneralField#getFieldTag()}.
+ * <p>
+ * Sets of tags are represented as bit masks, see {@link #maskOf(FieldTag...)}, so checking the field order does not allocate.
+ */
+public enum FieldTag {
+
+    TAG_13D(DateTimeIndicator.FIELD_TAG_13D),
+    TAG_20(TransactionReferenceNumber.FIELD_TAG_20),
+    TAG_21(RelatedReference.FIELD_TAG_21),
+    TAG_25(AccountIdentification.FIELD_TAG_25),
+    TAG_28C(StatementNumber.FIELD_TAG_28C),
+    TAG_34F(FloorLimitIndicator.FIELD_TAG_34F),
+    TAG_60F(OpeningBalance.FIELD_TAG_60F),
+    TAG_60M(OpeningBalance.FIELD_TAG_60M),
+    TAG_61(StatementLine.FIELD_TAG_61),
+    TAG_62F(ClosingBalance.FIELD_TAG_62F),
+    TAG_62M(ClosingBalance.FIELD_TAG_62M),
+    TAG_64(ClosingAvailableBalance.FIELD_TAG_64),
+    TAG_65(ForwardAvailableBalance.FIELD_TAG_65),
+    TAG_86(InformationToAccountOwner.FIELD_TAG_86),
+    TAG_90C(TransactionSummary.FIELD_TAG_90C),
+    TAG_90D(TransactionSummary.FIELD_TAG_90D),
+    SEPARATOR(PageSeparator.TAG),
+    /**
+     * Any other tag
+     */
+    UNKNOWN(null);
+
+    private static final FieldTag[] KNOWN_TAGS = Arrays.copyOf(values(), values().length - 1);
+
+    private final String tag;
+
+    private final long mask;
+
+
+    FieldTag(String tag) {
+        this.tag = tag;
+        this.mask = 1L << ordinal();
+    }
+
+    /**
+     * @return tag or null for {@link #UNKNOWN}
+     */
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+     * @return mask containing this tag only
+     */
+    public long mask() {
+        return mask;
+    }
+
+    public boolean isContainedIn(long mask) {
+        return (this.mask & mask) != 0;
+    }
+
+    public static long maskOf(FieldTag... fieldTags) {
+        long mask = 0;
+        for (FieldTag fieldTag : fieldTags) {
+            mask |= fieldTag.mask;
+        }
+        return mask;
+    }
+
+    /**
+     * @param mask tag mask
+     * @return tags contained in mask, in declaration order
+     */
+    public static List<String> tagsOf(long mask) {
+        List<String> tags = new ArrayList<>();
+        for (FieldTag fieldTag : KNOWN_TAGS) {
+            if (fieldTag.isContainedIn(mask)) {
+                tags.add(fieldTag.tag);
+            }
+        }
+        return tags;
+    }
+
+    public static FieldTag of(String tag) {
+        for (FieldTag fieldTag : KNOWN_TAGS) {
+            if (fieldTag.tag.equals(tag)) {
+                return fieldTag;
+            }
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * Looks up a tag without creating a string of it.
+     *
+     * @param chars characters containing the tag
+     * @param start tag start, inclusive
+     * @param end   tag end, exclusive
+     * @return interned tag or {@link #UNKNOWN}
+     */
+    public static FieldTag of(char[] chars, int start, int end) {
+        int length = end - start;
+        for (FieldTag fieldTag : KNOWN_TAGS) {
+            if (fieldTag.tag.length() == length && regionMatches(fieldTag.tag, chars, start)) {
+                return fieldTag;
+            }
+        }
+        return UNKNOWN;
+    }
+
+    private static boolean regionMatches(String tag, char[] chars, int start) {
+        for (int index = 0; index < tag.length(); index++) {
+            if (tag.charAt(index) != chars[start + index]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -43,4 +43,17 @@ public final class FieldUtils {
     public static String swiftTextOf(SwiftField field) {
         return ":" + field.getTag() + ":" + field.getContent();
     }
+
+    /**
+     * Append Swift Text Format to builder, see {@link #swiftTextOf(SwiftField)}.
+     *
+     * @param builder receives swift text
+     * @param field   to convert
+     * @return builder
+     */
+    public static StringBuilder appendSwiftTextTo(StringBuilder builder, SwiftField field) {
+        builder.append(':').append(field.getTag()).append(':');
+        field.appendContentTo(builder);
+        return builder;
+    }
 }
@@ -1,18 +1,16 @@
 package com.qoomon.banking.swift.submessage.field;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Lists;
 import com.qoomon.banking.swift.notation.FieldNotationParseException;
-import com.qoomon.banking.swift.notation.SwiftDecimalFormatter;
 import com.qoomon.banking.swift.notation.SwiftNotation;
 import com.qoomon.banking.swift.submessage.field.subfield.DebitCreditMark;
 import org.joda.money.BigMoney;
 import org.joda.money.CurrencyUnit;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 /**
  * <b>Floor Limit Indicator Debit/Credit</b>
@@ -32,17 +30,28 @@ public class FloorLimitIndicator implements SwiftField {
 
     public static final String FIELD_TAG_34F = "34F";
 
-    public static final SwiftNotation SWIFT_NOTATION = new SwiftNotation("3!a[1!a]15d");
+    public static final SwiftNotation SWIFT_NOTATION = SwiftNotation.of("3!a[1!a]15d");
 
     private final Optional<DebitCreditMark> debitCreditMark;
 
-    private final BigMoney amount;
+    private final FieldAmount amount;
 
 
     public FloorLimitIndicator(DebitCreditMark debitCreditMark, BigMoney amount) {
+        this(debitCreditMark, FieldAmount.of(amount));
+    }
+
+    /**
+     * @param amountMinorUnits amount in minor units of currency, e.g. cents
+     */
+    public FloorLimitIndicator(DebitCreditMark debitCreditMark, CurrencyUnit currency, long amountMinorUnits) {
+        this(debitCreditMark, FieldAmount.ofMinorUnits(currency, amountMinorUnits));
+    }
+
+    private FloorLimitIndicator(DebitCreditMark debitCreditMark, FieldAmount amount) {
 
         Preconditions.checkArgument(amount != null, "amount can't be null");
-        Preconditions.checkArgument(amount.isPositiveOrZero(), "amount can't be negative");
+        Preconditions.checkArgument(!amount.isNegative(), "amount can't be negative");
 
         this.debitCreditMark = Optional.ofNullable(debitCreditMark);
         this.amount = amount;
@@ -55,8 +64,7 @@ public class FloorLimitIndicator implements SwiftField {
 
         CurrencyUnit amountCurrency = CurrencyUnit.of(subFields.get(0));
         DebitCreditMark debitCreditMark = subFields.get(1) != null ? DebitCreditMark.ofFieldValue(subFields.get(1)) : null;
-        BigDecimal amountValue = SwiftDecimalFormatter.parse(subFields.get(2));
-        BigMoney amount = BigMoney.of(amountCurrency, amountValue);
+        FieldAmount amount = FieldAmount.parse(amountCurrency, subFields.get(2));
 
         return new FloorLimitIndicator(debitCreditMark, amount);
     }
@@ -66,20 +74,46 @@ public class FloorLimitIndicator implements SwiftField {
         return debitCreditMark;
     }
 
+    public CurrencyUnit getCurrency() {
+        return amount.getCurrency();
+    }
+
     public BigMoney getAmount() {
-        return amount;
+        return amount.getMoney();
     }
 
     public Optional<BigMoney> getSignedAmount() {
         return getDebitCreditMark().map(
                 debitCreditMark -> {
                     if (debitCreditMark.sign() < 0) {
-                        return amount.negated();
+                        return getAmount().negated();
                     }
-                    return amount;
+                    return getAmount();
                 });
     }
 
+    /**
+     * @return amount in minor units of currency, e.g. cents
+     * @throws ArithmeticException if amount has more fraction digits than currency or exceeds long
+     */
+    public long getAmountMinorUnits() {
+        return amount.getMinorUnits();
+    }
+
+    /**
+     * @return signed amount in minor units of currency, e.g. cents, if debit credit mark is present
+     * @throws ArithmeticException if amount has more fraction digits than currency or exceeds long
+     */
+    public OptionalLong getSignedAmountMinorUnits() {
+        if (!debitCreditMark.isPresent()) {
+            return OptionalLong.empty();
+        }
+        if (debitCreditMark.get().sign() < 0) {
+            return OptionalLong.of(Math.negateExact(getAmountMinorUnits()));
+        }
+        return OptionalLong.of(getAmountMinorUnits());
+    }
+
     @Override
     public String getTag() {
         return FIELD_TAG_34F;
@@ -87,12 +121,18 @@ public class FloorLimitIndicator implements SwiftField {
 
     @Override
     public String getContent() {
+        StringBuilder contentBuilder = new StringBuilder();
+        appendContentTo(contentBuilder);
+        return contentBuilder.toString();
+    }
+
+    @Override
+    public void appendContentTo(StringBuilder builder) {
         try {
-            return SWIFT_NOTATION.render(Lists.newArrayList(
-                    amount.getCurrencyUnit().getCode(),
+            SWIFT_NOTATION.renderTo(builder,
+                    amount.getCurrency().getCode(),
                     debitCreditMark.map(DebitCreditMark::toFieldValue).orElse(null),
-                    SwiftDecimalFormatter.format(amount.getAmount())
-            ));
+                    amount.format());
         } catch (FieldNotationParseException e) {
             throw new IllegalStateException("Invalid field values within " + getClass().getSimpleName() + " instance", e);
         }
@@ -7,20 +7,37 @@ import com.google.common.base.Preconditions;
  */
 public class GeneralField implements SwiftField {
 
+    private final FieldTag fieldTag;
+
     private final String tag;
 
     private final String content;
 
 
     public GeneralField(String tag, String content) {
+        this(null, tag, content);
+    }
+
+    /**
+     * @param fieldTag interned tag or null to look it up
+     */
+    GeneralField(FieldTag fieldTag, String tag, String content) {
 
         Preconditions.checkArgument(tag != null && !tag.isEmpty(), "tag can't be null or empty");
         Preconditions.checkArgument(content != null, "content can't be null");
 
+        this.fieldTag = fieldTag != null ? fieldTag : FieldTag.of(tag);
         this.tag = tag;
         this.content = content;
     }
 
+    /**
+     * @return interned tag, {@link FieldTag#UNKNOWN} if tag is not known by the page readers
+     */
+    public FieldTag getFieldTag() {
+        return fieldTag;
+    }
+
     @Override
     public String getTag() {
         return tag;
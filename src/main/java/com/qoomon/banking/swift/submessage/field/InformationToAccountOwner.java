@@ -1,7 +1,6 @@
 package com.qoomon.banking.swift.submessage.field;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Lists;
 import com.qoomon.banking.swift.notation.FieldNotationParseException;
 import com.qoomon.banking.swift.notation.SwiftNotation;
 
@@ -23,7 +22,7 @@ public class InformationToAccountOwner implements SwiftField {
 
     public static final String FIELD_TAG_86 = "86";
 
-    public static final SwiftNotation SWIFT_NOTATION = new SwiftNotation("6*65x");
+    public static final SwiftNotation SWIFT_NOTATION = SwiftNotation.of("6*65x");
 
     private final String content;
 
@@ -52,8 +51,15 @@ public class InformationToAccountOwner implements SwiftField {
 
     @Override
     public String getContent() {
+        StringBuilder contentBuilder = new StringBuilder();
+        appendContentTo(contentBuilder);
+        return contentBuilder.toString();
+    }
+
+    @Override
+    public void appendContentTo(StringBuilder builder) {
         try {
-            return SWIFT_NOTATION.render(Lists.newArrayList(content));
+            SWIFT_NOTATION.renderTo(builder, content);
         } catch (FieldNotationParseException e) {
             throw new IllegalStateException("Invalid field values within " + getClass().getSimpleName() + " instance", e);
         }
@@ -1,15 +1,12 @@
 package com.qoomon.banking.swift.submessage.field;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Lists;
 import com.qoomon.banking.swift.notation.FieldNotationParseException;
-import com.qoomon.banking.swift.notation.SwiftDecimalFormatter;
 import com.qoomon.banking.swift.notation.SwiftNotation;
 import com.qoomon.banking.swift.submessage.field.subfield.DebitCreditMark;
 import org.joda.money.BigMoney;
 import org.joda.money.CurrencyUnit;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -35,7 +32,7 @@ public class OpeningBalance implements SwiftField {
     public static final String FIELD_TAG_60F = "60F";
     public static final String FIELD_TAG_60M = "60M";
 
-    public static final SwiftNotation SWIFT_NOTATION = new SwiftNotation("1!a6!n3!a15d");
+    public static final SwiftNotation SWIFT_NOTATION = SwiftNotation.of("1!a6!n3!a15d");
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyMMdd");
 
@@ -45,16 +42,27 @@ public class OpeningBalance implements SwiftField {
 
     private final LocalDate date;
 
-    private final BigMoney amount;
+    private final FieldAmount amount;
 
 
     public OpeningBalance(Type type, LocalDate date, DebitCreditMark debitCreditMark, BigMoney amount) {
+        this(type, date, debitCreditMark, FieldAmount.of(amount));
+    }
+
+    /**
+     * @param amountMinorUnits amount in minor units of currency, e.g. cents
+     */
+    public OpeningBalance(Type type, LocalDate date, DebitCreditMark debitCreditMark, CurrencyUnit currency, long amountMinorUnits) {
+        this(type, date, debitCreditMark, FieldAmount.ofMinorUnits(currency, amountMinorUnits));
+    }
+
+    private OpeningBalance(Type type, LocalDate date, DebitCreditMark debitCreditMark, FieldAmount amount) {
 
         Preconditions.checkArgument(type != null, "type can't be null");
         Preconditions.checkArgument(debitCreditMark != null, "debitCreditMark can't be null");
         Preconditions.checkArgument(date != null, "date can't be null");
         Preconditions.checkArgument(amount != null, "amount can't be null");
-        Preconditions.checkArgument(amount.isPositiveOrZero(), "amount can't be negative");
+        Preconditions.checkArgument(!amount.isNegative(), "amount can't be negative");
 
         this.type = type;
         this.debitCreditMark = debitCreditMark;
@@ -71,8 +79,7 @@ public class OpeningBalance implements SwiftField {
         DebitCreditMark debitCreditMark = subFields.get(0) != null ? DebitCreditMark.ofFieldValue(subFields.get(0)) : null;
         LocalDate date = LocalDate.parse(subFields.get(1), DATE_FORMATTER);
         CurrencyUnit amountCurrency = CurrencyUnit.of(subFields.get(2));
-        BigDecimal amountValue = SwiftDecimalFormatter.parse(subFields.get(3));
-        BigMoney amount = BigMoney.of(amountCurrency, amountValue);
+        FieldAmount amount = FieldAmount.parse(amountCurrency, subFields.get(3));
 
         return new OpeningBalance(type, date, debitCreditMark, amount);
     }
@@ -89,15 +96,38 @@ public class OpeningBalance implements SwiftField {
         return date;
     }
 
+    public CurrencyUnit getCurrency() {
+        return amount.getCurrency();
+    }
+
     public BigMoney getAmount() {
-        return amount;
+        return amount.getMoney();
     }
 
     public BigMoney getSignedAmount() {
         if (getDebitCreditMark().sign() < 0) {
-            return amount.negated();
+            return getAmount().negated();
         }
-        return amount;
+        return getAmount();
+    }
+
+    /**
+     * @return amount in minor units of currency, e.g. cents
+     * @throws ArithmeticException if amount has more fraction digits than currency or exceeds long
+     */
+    public long getAmountMinorUnits() {
+        return amount.getMinorUnits();
+    }
+
+    /**
+     * @return signed amount in minor units of currency, e.g. cents
+     * @throws ArithmeticException if amount has more fraction digits than currency or exceeds long
+     */
+    public long getSignedAmountMinorUnits() {
+        if (getDebitCreditMark().sign() < 0) {
+            return Math.negateExact(getAmountMinorUnits());
+        }
+        return getAmountMinorUnits();
     }
 
     @Override
@@ -107,13 +137,19 @@ public class OpeningBalance implements SwiftField {
 
     @Override
     public String getContent() {
+        StringBuilder contentBuilder = new StringBuilder();
+        appendContentTo(contentBuilder);
+        return contentBuilder.toString();
+    }
+
+    @Override
+    public void appendContentTo(StringBuilder builder) {
         try {
-            return SWIFT_NOTATION.render(Lists.newArrayList(
+            SWIFT_NOTATION.renderTo(builder,
                     debitCreditMark.toFieldValue(),
                     DATE_FORMATTER.format(date),
-                    amount.getCurrencyUnit().getCode(),
-                    SwiftDecimalFormatter.format(amount.getAmount())
-            ));
+                    amount.getCurrency().getCode(),
+                    amount.format());
         } catch (FieldNotationParseException e) {
             throw new IllegalStateException("Invalid field values within " + getClass().getSimpleName() + " instance", e);
         }
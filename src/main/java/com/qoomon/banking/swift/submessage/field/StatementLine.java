@@ -1,13 +1,12 @@
 package com.qoomon.banking.swift.submessage.field;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Lists;
 import com.qoomon.banking.swift.notation.FieldNotationParseException;
-import com.qoomon.banking.swift.notation.SwiftDecimalFormatter;
 import com.qoomon.banking.swift.notation.SwiftNotation;
 import com.qoomon.banking.swift.submessage.field.subfield.DebitCreditMark;
 import com.qoomon.banking.swift.submessage.field.subfield.DebitCreditType;
 import com.qoomon.banking.swift.submessage.field.subfield.TransactionTypeIdentificationCode;
+import org.joda.money.CurrencyUnit;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -41,7 +40,7 @@ public class StatementLine implements SwiftField {
 
     public static final String FIELD_TAG_61 = "61";
 
-    public static final SwiftNotation SWIFT_NOTATION = new SwiftNotation("6!n[4!n]2a[1!a]15d1!a3!c16x[//16x][BR34x]");
+    public static final SwiftNotation SWIFT_NOTATION = SwiftNotation.of("6!n[4!n]2a[1!a]15d1!a3!c16x[//16x][BR34x]");
 
     private static final DateTimeFormatter VALUE_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyMMdd");
 
@@ -57,7 +56,7 @@ public class StatementLine implements SwiftField {
 
     private final Optional<String> fundsCode;
 
-    private final BigDecimal amount;
+    private final FieldAmount amount;
 
     private final TransactionTypeIdentificationCode transactionTypeIdentificationCode;
 
@@ -78,12 +77,26 @@ public class StatementLine implements SwiftField {
                          String referenceForAccountOwner,
                          String referenceForBank,
                          String supplementaryDetails) {
+        this(valueDate, entryDate, debitCreditType, debitCreditMark, FieldAmount.of(amount), fundsCode,
+                transactionTypeIdentificationCode, referenceForAccountOwner, referenceForBank, supplementaryDetails);
+    }
+
+    private StatementLine(LocalDate valueDate,
+                          LocalDate entryDate,
+                          DebitCreditType debitCreditType,
+                          DebitCreditMark debitCreditMark,
+                          FieldAmount amount,
+                          String fundsCode,
+                          TransactionTypeIdentificationCode transactionTypeIdentificationCode,
+                          String referenceForAccountOwner,
+                          String referenceForBank,
+                          String supplementaryDetails) {
 
         Preconditions.checkArgument(valueDate != null, "valueDate can't be null");
         Preconditions.checkArgument(debitCreditType != null, "debitCreditType can't be null");
         Preconditions.checkArgument(debitCreditMark != null, "debitCreditMark can't be null");
         Preconditions.checkArgument(amount != null, "amount can't be null");
-        Preconditions.checkArgument(amount.compareTo(BigDecimal.ZERO) >= 0, "amount can't be negative");
+        Preconditions.checkArgument(!amount.isNegative(), "amount can't be negative");
         Preconditions.checkArgument(transactionTypeIdentificationCode != null, "transactionTypeIdentificationCode can't be null");
         Preconditions.checkArgument(referenceForAccountOwner != null, "referenceForAccountOwner can't be null");
 
@@ -139,7 +152,7 @@ public class StatementLine implements SwiftField {
             }
         }
 
-        BigDecimal amount = SwiftDecimalFormatter.parse(subFields.get(4));
+        FieldAmount amount = FieldAmount.parse(null, subFields.get(4));
         TransactionTypeIdentificationCode transactionTypeIdentificationCode = TransactionTypeIdentificationCode.of(subFields.get(5) + subFields.get(6));
         String referenceForAccountOwner = subFields.get(7);
         String referenceForBank = subFields.get(8);
@@ -179,11 +192,11 @@ public class StatementLine implements SwiftField {
     }
 
     public BigDecimal getAmount() {
-        return amount;
+        return amount.getDecimal();
     }
 
     public BigDecimal getSignedAmount() {
-        BigDecimal signedAmount = amount;
+        BigDecimal signedAmount = getAmount();
         if (getDebitCreditMark().sign() < 0) {
             signedAmount = signedAmount.negate();
         }
@@ -193,6 +206,33 @@ public class StatementLine implements SwiftField {
         return signedAmount;
     }
 
+    /**
+     * @param currency statement currency
+     * @return amount in minor units of currency, e.g. cents
+     * @throws ArithmeticException if amount has more fraction digits than currency or exceeds long
+     */
+    public long getAmountMinorUnits(CurrencyUnit currency) {
+        Preconditions.checkArgument(currency != null, "currency can't be null");
+
+        return amount.getMinorUnits(currency);
+    }
+
+    /**
+     * @param currency statement currency
+     * @return signed amount in minor units of currency, e.g. cents
+     * @throws ArithmeticException if amount has more fraction digits than currency or exceeds long
+     */
+    public long getSignedAmountMinorUnits(CurrencyUnit currency) {
+        long signedAmountMinorUnits = getAmountMinorUnits(currency);
+        if (getDebitCreditMark().sign() < 0) {
+            signedAmountMinorUnits = Math.negateExact(signedAmountMinorUnits);
+        }
+        if (getDebitCreditType() == DebitCreditType.REVERSAL) {
+            signedAmountMinorUnits = Math.negateExact(signedAmountMinorUnits);
+        }
+        return signedAmountMinorUnits;
+    }
+
     public TransactionTypeIdentificationCode getTransactionTypeIdentificationCode() {
         return transactionTypeIdentificationCode;
     }
@@ -216,19 +256,25 @@ public class StatementLine implements SwiftField {
 
     @Override
     public String getContent() {
+        StringBuilder contentBuilder = new StringBuilder();
+        appendContentTo(contentBuilder);
+        return contentBuilder.toString();
+    }
+
+    @Override
+    public void appendContentTo(StringBuilder builder) {
         try {
-            return SWIFT_NOTATION.render(Lists.newArrayList(
+            SWIFT_NOTATION.renderTo(builder,
                     VALUE_DATE_FORMATTER.format(valueDate),
                     valueDate.equals(entryDate) ? null : ENTRY_DATE_FORMATTER.format(entryDate),
                     debitCreditMark.toFieldValue(),
                     fundsCode.orElse(null),
-                    SwiftDecimalFormatter.format(amount),
+                    amount.format(),
                     transactionTypeIdentificationCode.getType().name(),
                     transactionTypeIdentificationCode.getCode(),
                     referenceForAccountOwner,
                     referenceForBank.orElse(null),
-                    supplementaryDetails.orElse(null)
-            ));
+                    supplementaryDetails.orElse(null));
         } catch (FieldNotationParseException e) {
             throw new IllegalStateException("Invalid field values within " + getClass().getSimpleName() + " instance", e);
         }
@@ -1,7 +1,6 @@
 package com.qoomon.banking.swift.submessage.field;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Lists;
 import com.qoomon.banking.swift.notation.FieldNotationParseException;
 import com.qoomon.banking.swift.notation.SwiftNotation;
 
@@ -25,7 +24,7 @@ public class StatementNumber implements SwiftField {
 
     public static final String FIELD_TAG_28C = "28C";
 
-    public static final SwiftNotation SWIFT_NOTATION = new SwiftNotation("5n[/5n]");
+    public static final SwiftNotation SWIFT_NOTATION = SwiftNotation.of("5n[/5n]");
 
     private final String statementNumber;
 
@@ -68,8 +67,15 @@ public class StatementNumber implements SwiftField {
 
     @Override
     public String getContent() {
+        StringBuilder contentBuilder = new StringBuilder();
+        appendContentTo(contentBuilder);
+        return contentBuilder.toString();
+    }
+
+    @Override
+    public void appendContentTo(StringBuilder builder) {
         try {
-            return SWIFT_NOTATION.render(Lists.newArrayList(statementNumber, sequenceNumber.orElse(null)));
+            SWIFT_NOTATION.renderTo(builder, statementNumber, sequenceNumber.orElse(null));
         } catch (FieldNotationParseException e) {
             throw new IllegalStateException("Invalid field values within " + getClass().getSimpleName() + " instance", e);
         }
@@ -9,4 +9,13 @@ public interface SwiftField {
 
     String getContent();
 
+    /**
+     * Appends content to builder, same as {@link #getContent()}
+     *
+     * @param builder receives content
+     */
+    default void appendContentTo(StringBuilder builder) {
+        builder.append(getContent());
+    }
+
 }
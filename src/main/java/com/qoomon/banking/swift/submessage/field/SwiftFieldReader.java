@@ -7,89 +7,152 @@ import com.qoomon.banking.swift.submessage.field.exception.FieldLineParseExcepti
 import com.qoomon.banking.swift.submessage.field.exception.FieldParseException;
 
 import java.io.IOException;
-import java.io.LineNumberReader;
 import java.io.Reader;
+import java.util.Arrays;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Created by qoomon on 27/06/16.
+ * <p>
+ * Lines are read into a reused line buffer and classified within one character scan,
+ * so neither line strings nor regular expressions are involved.
+ * A field line has the structure ':tag:content', any other line continues the content of the preceding field.
+ * Line terminators are '\n', '\r' and "\r\n".
  */
 public class SwiftFieldReader {
 
-    private static final Pattern FIELD_STRUCTURE_PATTERN = Pattern.compile(":(?<tag>[^:]+):(?<content>.*)");
+    private static final int BUFFER_SIZE = 8192;
 
     private final static Set<FieldLineType> FIELD_START_LINE_TYPE_SET = ImmutableSet.of(FieldLineType.FIELD, FieldLineType.SEPARATOR);
 
-    private final LineNumberReader lineReader;
+    private final static Set<FieldLineType> FIELD_LINE_TYPE_SET = ImmutableSet.of(FieldLineType.FIELD, FieldLineType.FIELD_CONTINUATION, FieldLineType.SEPARATOR);
 
-    private FieldLine currentFieldLine = null;
+    private final Reader textReader;
+
+    // used in sequence mode only
+    private final CharSequence textSequence;
+    private int sequencePosition;
+    private final int sequenceEnd;
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int bufferPosition = 0;
+    private int bufferLimit = 0;
+
+    // line feed of a preceding carriage return is part of the line terminator
+    private boolean skipLineFeed = false;
+
+    private char[] line = new char[128];
+    private int lineLength = 0;
+    // index of the colon behind the tag, field lines only
+    private int lineTagEnd = -1;
+    // type of current line, null if there is no current line
+    private FieldLineType lineType = null;
+
+    // number of lines read so far
+    private int lineNumber = 0;
+
+    // current field
+    private FieldTag fieldTag = null;
+    private String tag = null;
+    private final StringBuilder contentBuilder = new StringBuilder();
 
 
     public SwiftFieldReader(Reader textReader) {
-        this.lineReader = new LineNumberReader(textReader);
+
+        Preconditions.checkArgument(textReader != null, "textReader can't be null");
+
+        this.textReader = textReader;
+        this.textSequence = null;
+        this.sequenceEnd = 0;
+    }
+
+    /**
+     * Reads the fields directly from given text, without a {@link Reader} in between.
+     *
+     * @param text  text containing fields
+     * @param start fields start, inclusive
+     * @param end   fields end, exclusive
+     */
+    public SwiftFieldReader(CharSequence text, int start, int end) {
+
+        Preconditions.checkArgument(text != null, "text can't be null");
+        Preconditions.checkPositionIndexes(start, end, text.length());
+
+        this.textReader = null;
+        this.textSequence = text;
+        this.sequencePosition = start;
+        this.sequenceEnd = end;
     }
 
     public int getFieldLineNumber() {
-        return lineReader.getLineNumber() - 1;
+        return lineNumber - 1;
     }
 
     public GeneralField readField() throws FieldParseException {
-        // field fields
-        String tag = null;
-        StringBuilder contentBuilder = new StringBuilder();
+        if (!nextField()) {
+            return null;
+        }
+        return new GeneralField(
+                fieldTag,
+                tag,
+                contentBuilder.toString()
+        );
+    }
+
+    /**
+     * Reads the next field without creating a {@link GeneralField}, see {@link #getTag()} and {@link #getContent()}.
+     *
+     * @return false if there are no more fields
+     * @throws FieldParseException on invalid field structure
+     */
+    public boolean nextField() throws FieldParseException {
+        fieldTag = null;
+        tag = null;
+        contentBuilder.setLength(0);
 
         try {
-            if (currentFieldLine == null) {
-                currentFieldLine = readFieldLine(lineReader);
+            if (lineType == null) {
+                readFieldLine();
             }
-            if (currentFieldLine == null) {
-                return null;
+            if (lineType == null) {
+                return false;
             }
 
             Set<FieldLineType> nextValidFieldLineTypeSet = FIELD_START_LINE_TYPE_SET;
-            while (currentFieldLine != null) {
-                ensureValidNextLine(currentFieldLine, nextValidFieldLineTypeSet, lineReader);
+            while (lineType != null) {
+                ensureValidNextLine(lineType, nextValidFieldLineTypeSet);
 
-                switch (currentFieldLine.getType()) {
+                switch (lineType) {
                     case FIELD: {
-                        Matcher fieldMatcher = FIELD_STRUCTURE_PATTERN.matcher(currentFieldLine.getContent());
-                        if (!fieldMatcher.matches()) {
-                            throw new FieldParseException("Parse error: " + currentFieldLine.getType().name() + " did not match " + FIELD_STRUCTURE_PATTERN.pattern(), getFieldLineNumber());
-                        }
-
                         // start of a new field
-                        tag = fieldMatcher.group("tag");
-                        contentBuilder.append(fieldMatcher.group("content"));
-                        nextValidFieldLineTypeSet = ImmutableSet.of(FieldLineType.FIELD, FieldLineType.FIELD_CONTINUATION, FieldLineType.SEPARATOR);
+                        fieldTag = FieldTag.of(line, 1, lineTagEnd);
+                        tag = fieldTag != FieldTag.UNKNOWN ? fieldTag.getTag() : new String(line, 1, lineTagEnd - 1);
+                        contentBuilder.append(line, lineTagEnd + 1, lineLength - lineTagEnd - 1);
+                        nextValidFieldLineTypeSet = FIELD_LINE_TYPE_SET;
                         break;
                     }
                     case FIELD_CONTINUATION: {
-                        contentBuilder.append("\n");
-                        contentBuilder.append(currentFieldLine.getContent());
-                        nextValidFieldLineTypeSet = ImmutableSet.of(FieldLineType.FIELD, FieldLineType.FIELD_CONTINUATION, FieldLineType.SEPARATOR);
+                        contentBuilder.append('\n');
+                        contentBuilder.append(line, 0, lineLength);
+                        nextValidFieldLineTypeSet = FIELD_LINE_TYPE_SET;
                         break;
                     }
                     case SEPARATOR: {
+                        fieldTag = FieldTag.SEPARATOR;
                         tag = PageSeparator.TAG;
                         nextValidFieldLineTypeSet = ImmutableSet.of();
                         break;
                     }
                     default:
-                        throw new FieldParseException("Bug: Missing handling for line type " + currentFieldLine.getType().name(), getFieldLineNumber());
+                        throw new FieldParseException("Bug: Missing handling for line type " + lineType.name(), getFieldLineNumber());
                 }
 
-                currentFieldLine = readFieldLine(lineReader);
-                if (currentFieldLine == null || FIELD_START_LINE_TYPE_SET.contains(currentFieldLine.getType())) {
+                readFieldLine();
+                if (lineType == null || FIELD_START_LINE_TYPE_SET.contains(lineType)) {
                     break;
                 }
             }
-
-            return new GeneralField(
-                    tag,
-                    contentBuilder.toString()
-            );
+            return true;
         } catch (FieldParseException e) {
             throw e;
         } catch (Exception e) {
@@ -97,54 +160,156 @@ public class SwiftFieldReader {
         }
     }
 
-    private void ensureValidNextLine(FieldLine nextFieldLine, Set<FieldLineType> expectedFieldLineTypeSet, LineNumberReader lineReader) throws FieldParseException {
-        FieldLineType fieldLineType = nextFieldLine != null ? nextFieldLine.getType() : null;
+    /**
+     * @return interned tag of the field read by {@link #nextField()}
+     */
+    public FieldTag getFieldTag() {
+        return fieldTag;
+    }
+
+    /**
+     * @return tag of the field read by {@link #nextField()}
+     */
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+     * @return content of the field read by {@link #nextField()}, only valid until next field is read
+     */
+    public CharSequence getContent() {
+        return contentBuilder;
+    }
+
+    private void ensureValidNextLine(FieldLineType fieldLineType, Set<FieldLineType> expectedFieldLineTypeSet) throws FieldParseException {
         if (!expectedFieldLineTypeSet.contains(fieldLineType)) {
-            throw new FieldParseException("Expected FieldLine '" + expectedFieldLineTypeSet + "', but was '" + fieldLineType + "'", lineReader.getLineNumber());
+            throw new FieldParseException("Expected FieldLine '" + expectedFieldLineTypeSet + "', but was '" + fieldLineType + "'", lineNumber);
         }
     }
 
-    private FieldLineType determineMessageLineType(String messageLine) {
-        Preconditions.checkArgument(messageLine != null && !messageLine.isEmpty(), "messageLine can't be null or empty");
+    private void readFieldLine() throws FieldLineParseException {
+        lineType = null;
+        boolean lineRead;
+        try {
+            lineRead = readLine();
+        } catch (IOException e) {
+            throw new FieldLineParseException(e.getMessage(), lineNumber, e);
+        }
+        if (lineRead) {
+            lineType = determineLineType();
+        }
+    }
+
+    private FieldLineType determineLineType() {
+        Preconditions.checkArgument(lineLength > 0, "messageLine can't be null or empty");
 
-        if (messageLine.equals(PageSeparator.TAG)) {
+        if (lineLength == PageSeparator.TAG.length() && PageSeparator.TAG.charAt(0) == line[0]) {
             return FieldLineType.SEPARATOR;
         }
-        if (messageLine.startsWith(":")) {
-            Matcher tagMatcher = FIELD_STRUCTURE_PATTERN.matcher(messageLine);
-            if (tagMatcher.matches() && tagMatcher.group("tag") != null) {
+        if (line[0] == ':') {
+            int tagEnd = 1;
+            while (tagEnd < lineLength && line[tagEnd] != ':') {
+                tagEnd++;
+            }
+            // tag has to consist of at least one character
+            if (tagEnd < lineLength && tagEnd > 1 && !containsLineSeparator(tagEnd + 1)) {
+                lineTagEnd = tagEnd;
                 return FieldLineType.FIELD;
             }
         }
         return FieldLineType.FIELD_CONTINUATION;
-
     }
 
-    private FieldLine readFieldLine(LineNumberReader lineReader) throws FieldLineParseException {
-        try {
-            String line = lineReader.readLine();
-            return line == null ? null : new FieldLine(line);
-        } catch (IOException e) {
-            throw new FieldLineParseException(e.getMessage(), lineReader.getLineNumber(), e);
+    /**
+     * Field content must not contain unicode line separators, same as regular expression '.*'.
+     */
+    private boolean containsLineSeparator(int start) {
+        for (int index = start; index < lineLength; index++) {
+            char lineCharacter = line[index];
+            if (lineCharacter == '\u0085' || lineCharacter == '\u2028' || lineCharacter == '\u2029') {
+                return true;
+            }
         }
+        return false;
     }
 
-    private class FieldLine {
-        private FieldLineType type;
-        private String content;
+    /**
+     * Reads the next line into line buffer, without line terminator.
+     *
+     * @return false if there are no more lines
+     */
+    private boolean readLine() throws IOException {
+        lineLength = 0;
+        boolean lineStarted = false;
+        while (true) {
+            if (bufferPosition >= bufferLimit) {
+                int readCharacters = fillBuffer();
+                if (readCharacters < 0) {
+                    skipLineFeed = false;
+                    if (lineStarted) {
+                        lineNumber++;
+                    }
+                    return lineStarted;
+                }
+                bufferPosition = 0;
+                bufferLimit = readCharacters;
+                continue;
+            }
+
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (buffer[bufferPosition] == '\n') {
+                    bufferPosition++;
+                    continue;
+                }
+            }
+            lineStarted = true;
 
-        public FieldLine(String content) {
-            this.type = determineMessageLineType(content);
-            this.content = content;
+            int lineStart = bufferPosition;
+            while (bufferPosition < bufferLimit) {
+                char lineCharacter = buffer[bufferPosition];
+                if (lineCharacter == '\n' || lineCharacter == '\r') {
+                    appendToLine(lineStart, bufferPosition);
+                    bufferPosition++;
+                    skipLineFeed = lineCharacter == '\r';
+                    lineNumber++;
+                    return true;
+                }
+                bufferPosition++;
+            }
+            appendToLine(lineStart, bufferPosition);
         }
+    }
 
-        public FieldLineType getType() {
-            return type;
+    /**
+     * @return number of characters read into buffer or -1 at text end
+     */
+    private int fillBuffer() throws IOException {
+        if (textReader != null) {
+            return textReader.read(buffer, 0, buffer.length);
+        }
+        int readCharacters = Math.min(buffer.length, sequenceEnd - sequencePosition);
+        if (readCharacters == 0) {
+            return -1;
         }
+        if (textSequence instanceof String) {
+            ((String) textSequence).getChars(sequencePosition, sequencePosition + readCharacters, buffer, 0);
+        } else {
+            for (int index = 0; index < readCharacters; index++) {
+                buffer[index] = textSequence.charAt(sequencePosition + index);
+            }
+        }
+        sequencePosition += readCharacters;
+        return readCharacters;
+    }
 
-        public String getContent() {
-            return content;
+    private void appendToLine(int start, int end) {
+        int length = end - start;
+        if (lineLength + length > line.length) {
+            line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + length));
         }
+        System.arraycopy(buffer, start, line, lineLength, length);
+        lineLength += length;
     }
 
     private enum FieldLineType {
@@ -1,7 +1,6 @@
 package com.qoomon.banking.swift.submessage.field;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Lists;
 import com.qoomon.banking.swift.notation.FieldNotationParseException;
 import com.qoomon.banking.swift.notation.SwiftNotation;
 
@@ -24,7 +23,7 @@ public class TransactionReferenceNumber implements SwiftField {
 
     public static final String FIELD_TAG_20 = "20";
 
-    public static final SwiftNotation SWIFT_NOTATION = new SwiftNotation("20x");
+    public static final SwiftNotation SWIFT_NOTATION = SwiftNotation.of("20x");
 
     private final String content;
 
@@ -54,8 +53,15 @@ public class TransactionReferenceNumber implements SwiftField {
 
     @Override
     public String getContent() {
+        StringBuilder contentBuilder = new StringBuilder();
+        appendContentTo(contentBuilder);
+        return contentBuilder.toString();
+    }
+
+    @Override
+    public void appendContentTo(StringBuilder builder) {
         try {
-            return SWIFT_NOTATION.render(Lists.newArrayList(content));
+            SWIFT_NOTATION.renderTo(builder, content);
         } catch (FieldNotationParseException e) {
             throw new IllegalStateException("Invalid field values within " + getClass().getSimpleName() + " instance", e);
         }
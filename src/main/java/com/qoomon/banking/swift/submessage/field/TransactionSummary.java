@@ -1,15 +1,12 @@
 package com.qoomon.banking.swift.submessage.field;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Lists;
 import com.qoomon.banking.swift.notation.FieldNotationParseException;
-import com.qoomon.banking.swift.notation.SwiftDecimalFormatter;
 import com.qoomon.banking.swift.notation.SwiftNotation;
 import com.qoomon.banking.swift.submessage.field.subfield.DebitCreditMark;
 import org.joda.money.BigMoney;
 import org.joda.money.CurrencyUnit;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 /**
@@ -37,21 +34,32 @@ public class TransactionSummary implements SwiftField {
 
     public static final String FIELD_TAG_90C = "90C";
 
-    public static final SwiftNotation SWIFT_NOTATION = new SwiftNotation("5n3!a15d");
+    public static final SwiftNotation SWIFT_NOTATION = SwiftNotation.of("5n3!a15d");
 
     private final DebitCreditMark debitCreditMark;
 
     private final int transactionCount;
 
-    private final BigMoney amount;
+    private final FieldAmount amount;
 
 
     public TransactionSummary(DebitCreditMark debitCreditMark, int transactionCount, BigMoney amount) {
+        this(debitCreditMark, transactionCount, FieldAmount.of(amount));
+    }
+
+    /**
+     * @param amountMinorUnits amount in minor units of currency, e.g. cents
+     */
+    public TransactionSummary(DebitCreditMark debitCreditMark, int transactionCount, CurrencyUnit currency, long amountMinorUnits) {
+        this(debitCreditMark, transactionCount, FieldAmount.ofMinorUnits(currency, amountMinorUnits));
+    }
+
+    private TransactionSummary(DebitCreditMark debitCreditMark, int transactionCount, FieldAmount amount) {
 
         Preconditions.checkArgument(debitCreditMark != null, "debitCreditMark can't be null");
         Preconditions.checkArgument(transactionCount >= 0, "transaction count can't be negative. was: %s", transactionCount);
         Preconditions.checkArgument(amount != null, "amount can't be null");
-        Preconditions.checkArgument(amount.isPositiveOrZero(), "amount can't be negative");
+        Preconditions.checkArgument(!amount.isNegative(), "amount can't be negative");
 
         this.debitCreditMark = debitCreditMark;
         this.transactionCount = transactionCount;
@@ -66,8 +74,7 @@ public class TransactionSummary implements SwiftField {
 
         int transactionCount = Integer.parseInt(subFields.get(0));
         CurrencyUnit amountCurrency = CurrencyUnit.of(subFields.get(1));
-        BigDecimal amountValue = SwiftDecimalFormatter.parse(subFields.get(2));
-        BigMoney amount = BigMoney.of(amountCurrency, amountValue);
+        FieldAmount amount = FieldAmount.parse(amountCurrency, subFields.get(2));
 
         return new TransactionSummary(type, transactionCount, amount);
     }
@@ -80,15 +87,38 @@ public class TransactionSummary implements SwiftField {
         return transactionCount;
     }
 
+    public CurrencyUnit getCurrency() {
+        return amount.getCurrency();
+    }
+
     public BigMoney getAmount() {
-        return amount;
+        return amount.getMoney();
     }
 
     public BigMoney getSignedAmount() {
-        if(getDebitCreditMark().sign() < 0) {
-            return amount.negated();
+        if (getDebitCreditMark().sign() < 0) {
+            return getAmount().negated();
+        }
+        return getAmount();
+    }
+
+    /**
+     * @return amount in minor units of currency, e.g. cents
+     * @throws ArithmeticException if amount has more fraction digits than currency or exceeds long
+     */
+    public long getAmountMinorUnits() {
+        return amount.getMinorUnits();
+    }
+
+    /**
+     * @return signed amount in minor units of currency, e.g. cents
+     * @throws ArithmeticException if amount has more fraction digits than currency or exceeds long
+     */
+    public long getSignedAmountMinorUnits() {
+        if (getDebitCreditMark().sign() < 0) {
+            return Math.negateExact(getAmountMinorUnits());
         }
-        return amount;
+        return getAmountMinorUnits();
     }
 
     @Override
@@ -98,12 +128,18 @@ public class TransactionSummary implements SwiftField {
 
     @Override
     public String getContent() {
+        StringBuilder contentBuilder = new StringBuilder();
+        appendContentTo(contentBuilder);
+        return contentBuilder.toString();
+    }
+
+    @Override
+    public void appendContentTo(StringBuilder builder) {
         try {
-            return SWIFT_NOTATION.render(Lists.newArrayList(
+            SWIFT_NOTATION.renderTo(builder,
                     String.valueOf(transactionCount),
-                    amount.getCurrencyUnit().getCode(),
-                    SwiftDecimalFormatter.format(amount.getAmount())
-            ));
+                    amount.getCurrency().getCode(),
+                    amount.format());
         } catch (FieldNotationParseException e) {
             throw new IllegalStateException("Invalid field values within " + getClass().getSimpleName() + " instance", e);
         }
@@ -9,7 +9,7 @@ import org.joda.money.CurrencyUnit;
 import java.util.List;
 import java.util.Optional;
 
-import static com.qoomon.banking.swift.submessage.field.FieldUtils.swiftTextOf;
+import static com.qoomon.banking.swift.submessage.field.FieldUtils.appendSwiftTextTo;
 
 /**
  * Created by qoomon on 24/06/16.
@@ -209,7 +209,7 @@ public class MT940Page implements Page {
         Preconditions.checkArgument(forwardAvailableBalanceList != null, "forwardAvailableBalanceList can't be null");
 
         // ensure matching currency
-        CurrencyUnit statementCurrency = openingBalance.getAmount().getCurrencyUnit();
+        CurrencyUnit statementCurrency = openingBalance.getCurrency();
         String statementFundsCode = statementCurrency.getCode().substring(2, 3);
 
         for (TransactionGroup transactionGroup : transactionGroupList) {
@@ -220,17 +220,17 @@ public class MT940Page implements Page {
         }
 
         {
-            CurrencyUnit currency = closingBalance.getAmount().getCurrencyUnit();
+            CurrencyUnit currency = closingBalance.getCurrency();
             Preconditions.checkArgument(currency.equals(statementCurrency), "closingBalanceCurrency '" + currency + "' does not match statement currency'" + statementCurrency + "'");
         }
 
         if (closingAvailableBalance != null) {
-            CurrencyUnit currency = closingAvailableBalance.getAmount().getCurrencyUnit();
+            CurrencyUnit currency = closingAvailableBalance.getCurrency();
             Preconditions.checkArgument(currency.equals(statementCurrency), "closingAvailableBalanceCurrency '" + currency + "' does not match statement currency'" + statementCurrency + "'");
         }
 
         for (ForwardAvailableBalance forwardAvailableBalance : forwardAvailableBalanceList) {
-            CurrencyUnit currency = forwardAvailableBalance.getAmount().getCurrencyUnit();
+            CurrencyUnit currency = forwardAvailableBalance.getCurrency();
             Preconditions.checkArgument(currency.equals(statementCurrency), "forwardAvailableBalance '" + currency + "' does not match statement currency'" + statementCurrency + "'");
         }
 
@@ -293,28 +293,28 @@ public class MT940Page implements Page {
 
     public String getContent() {
         StringBuilder contentBuilder = new StringBuilder();
-        contentBuilder.append(swiftTextOf(transactionReferenceNumber)).append("\n");
+        appendSwiftTextTo(contentBuilder, transactionReferenceNumber).append("\n");
         if (relatedReference.isPresent()) {
-            contentBuilder.append(swiftTextOf(relatedReference.get())).append("\n");
+            appendSwiftTextTo(contentBuilder, relatedReference.get()).append("\n");
         }
-        contentBuilder.append(swiftTextOf(accountIdentification)).append("\n");
-        contentBuilder.append(swiftTextOf(statementNumber)).append("\n");
-        contentBuilder.append(swiftTextOf(openingBalance)).append("\n");
+        appendSwiftTextTo(contentBuilder, accountIdentification).append("\n");
+        appendSwiftTextTo(contentBuilder, statementNumber).append("\n");
+        appendSwiftTextTo(contentBuilder, openingBalance).append("\n");
         for (TransactionGroup transactionGroup : transactionGroupList) {
-            contentBuilder.append(swiftTextOf(transactionGroup.getStatementLine())).append("\n");
+            appendSwiftTextTo(contentBuilder, transactionGroup.getStatementLine()).append("\n");
             if (transactionGroup.getInformationToAccountOwner().isPresent()) {
-                contentBuilder.append(swiftTextOf(transactionGroup.getInformationToAccountOwner().get())).append("\n");
+                appendSwiftTextTo(contentBuilder, transactionGroup.getInformationToAccountOwner().get()).append("\n");
             }
         }
-        contentBuilder.append(swiftTextOf(closingBalance)).append("\n");
+        appendSwiftTextTo(contentBuilder, closingBalance).append("\n");
         if (closingAvailableBalance.isPresent()) {
-            contentBuilder.append(swiftTextOf(closingAvailableBalance.get())).append("\n");
+            appendSwiftTextTo(contentBuilder, closingAvailableBalance.get()).append("\n");
         }
         for (ForwardAvailableBalance forwardAvailableBalance : forwardAvailableBalanceList) {
-            contentBuilder.append(swiftTextOf(forwardAvailableBalance)).append("\n");
+            appendSwiftTextTo(contentBuilder, forwardAvailableBalance).append("\n");
         }
         if (informationToAccountOwner.isPresent()) {
-            contentBuilder.append(swiftTextOf(informationToAccountOwner.get())).append("\n");
+            appendSwiftTextTo(contentBuilder, informationToAccountOwner.get()).append("\n");
         }
         contentBuilder.append(PageSeparator.TAG);
         return contentBuilder.toString();
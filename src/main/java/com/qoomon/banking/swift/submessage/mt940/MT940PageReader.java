@@ -1,23 +1,37 @@
 package com.qoomon.banking.swift.submessage.mt940;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.ImmutableSet;
 import com.qoomon.banking.swift.message.exception.SwiftMessageParseException;
+import com.qoomon.banking.swift.submessage.PageGrammar;
 import com.qoomon.banking.swift.submessage.PageReader;
-import com.qoomon.banking.swift.submessage.PageSeparator;
 import com.qoomon.banking.swift.submessage.exception.PageParserException;
 import com.qoomon.banking.swift.submessage.field.*;
 
 import java.io.Reader;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Set;
+
+import static com.qoomon.banking.swift.submessage.PageGrammar.*;
+import static com.qoomon.banking.swift.submessage.field.FieldTag.*;
 
 /**
  * Parser for {@link MT940Page}
  */
 public class MT940PageReader extends PageReader<MT940Page> {
 
+    private static final PageGrammar GRAMMAR = PageGrammar.of(
+            field(TAG_20),
+            optional(field(TAG_21)),
+            field(TAG_25),
+            field(TAG_28C),
+            field(TAG_60F, TAG_60M),
+            repeated(field(TAG_61), optional(field(TAG_86))),
+            field(TAG_62F, TAG_62M),
+            optional(field(TAG_64)),
+            repeated(field(TAG_65)),
+            optional(field(TAG_86)),
+            field(SEPARATOR));
+
     private final SwiftFieldReader fieldReader;
 
 
@@ -43,7 +57,7 @@ public class MT940PageReader extends PageReader<MT940Page> {
         InformationToAccountOwner informationToAccountOwner = null;
 
         try {
-            Set<String> nextValidFieldSet = ImmutableSet.of(TransactionReferenceNumber.FIELD_TAG_20);
+            int grammarState = START_STATE;
             GeneralField currentField = null;
             while (true) {
                 GeneralField previousField = currentField;
@@ -52,86 +66,54 @@ public class MT940PageReader extends PageReader<MT940Page> {
                     return null;
                 }
 
-                ensureValidField(currentField, nextValidFieldSet, fieldReader);
-                if (currentField.getTag().equals(PageSeparator.TAG)) {
+                grammarState = nextGrammarState(currentField, GRAMMAR, grammarState, fieldReader);
+                if (currentField.getFieldTag() == SEPARATOR) {
                     break;
                 }
 
-                switch (currentField.getTag()) {
-                    case TransactionReferenceNumber.FIELD_TAG_20: {
+                switch (currentField.getFieldTag()) {
+                    case TAG_20: {
                         transactionReferenceNumber = TransactionReferenceNumber.of(currentField);
-                        nextValidFieldSet = ImmutableSet.of(
-                                RelatedReference.FIELD_TAG_21,
-                                AccountIdentification.FIELD_TAG_25);
                         break;
                     }
-                    case RelatedReference.FIELD_TAG_21: {
+                    case TAG_21: {
                         relatedReference = RelatedReference.of(currentField);
-                        nextValidFieldSet = ImmutableSet.of(
-                                AccountIdentification.FIELD_TAG_25);
                         break;
                     }
-                    case AccountIdentification.FIELD_TAG_25: {
+                    case TAG_25: {
                         accountIdentification = AccountIdentification.of(currentField);
-                        nextValidFieldSet = ImmutableSet.of(
-                                StatementNumber.FIELD_TAG_28C);
                         break;
                     }
-                    case StatementNumber.FIELD_TAG_28C: {
+                    case TAG_28C: {
                         statementNumber = StatementNumber.of(currentField);
-                        nextValidFieldSet = ImmutableSet.of(
-                                OpeningBalance.FIELD_TAG_60F,
-                                OpeningBalance.FIELD_TAG_60M);
                         break;
                     }
-                    case OpeningBalance.FIELD_TAG_60F:
-                    case OpeningBalance.FIELD_TAG_60M: {
+                    case TAG_60F:
+                    case TAG_60M: {
                         openingBalance = OpeningBalance.of(currentField);
-                        nextValidFieldSet = ImmutableSet.of(
-                                StatementLine.FIELD_TAG_61,
-                                ClosingBalance.FIELD_TAG_62F,
-                                ClosingBalance.FIELD_TAG_62M);
                         break;
                     }
-                    case StatementLine.FIELD_TAG_61: {
+                    case TAG_61: {
                         StatementLine statementLine = StatementLine.of(currentField);
                         transactionList.add(new TransactionGroup(statementLine, null));
-                        nextValidFieldSet = ImmutableSet.of(
-                                InformationToAccountOwner.FIELD_TAG_86,
-                                StatementLine.FIELD_TAG_61,
-                                ClosingBalance.FIELD_TAG_62F,
-                                ClosingBalance.FIELD_TAG_62M);
                         break;
                     }
-                    case ClosingBalance.FIELD_TAG_62F:
-                    case ClosingBalance.FIELD_TAG_62M: {
+                    case TAG_62F:
+                    case TAG_62M: {
                         closingBalance = ClosingBalance.of(currentField);
-                        nextValidFieldSet = ImmutableSet.of(
-                                ClosingAvailableBalance.FIELD_TAG_64,
-                                ForwardAvailableBalance.FIELD_TAG_65,
-                                InformationToAccountOwner.FIELD_TAG_86,
-                                PageSeparator.TAG);
                         break;
                     }
-                    case ClosingAvailableBalance.FIELD_TAG_64: {
+                    case TAG_64: {
                         closingAvailableBalance = ClosingAvailableBalance.of(currentField);
-                        nextValidFieldSet = ImmutableSet.of(
-                                ForwardAvailableBalance.FIELD_TAG_65,
-                                InformationToAccountOwner.FIELD_TAG_86,
-                                PageSeparator.TAG);
                         break;
                     }
-                    case ForwardAvailableBalance.FIELD_TAG_65: {
+                    case TAG_65: {
                         ForwardAvailableBalance forwardAvailableBalance = ForwardAvailableBalance.of(currentField);
                         forwardAvailableBalanceList.add(forwardAvailableBalance);
-                        nextValidFieldSet = ImmutableSet.of(
-                                ForwardAvailableBalance.FIELD_TAG_65,
-                                InformationToAccountOwner.FIELD_TAG_86,
-                                PageSeparator.TAG);
                         break;
                     }
-                    case InformationToAccountOwner.FIELD_TAG_86: {
-                        if (previousField != null && previousField.getTag().equals(StatementLine.FIELD_TAG_61)) {
+                    case TAG_86: {
+                        if (previousField != null && previousField.getFieldTag() == TAG_61) {
                             // amend transaction with transactionInformationToAccountOwner
                             int lastTransactionIndex = transactionList.size() - 1;
                             TransactionGroup lastTransaction = transactionList.get(lastTransactionIndex);
@@ -139,19 +121,12 @@ public class MT940PageReader extends PageReader<MT940Page> {
 
                             TransactionGroup updatedTransaction = new TransactionGroup(lastTransaction.getStatementLine(), transactionInformationToAccountOwner);
                             transactionList.set(lastTransactionIndex, updatedTransaction);
-
-                            nextValidFieldSet = ImmutableSet.of(
-                                    StatementLine.FIELD_TAG_61,
-                                    ClosingBalance.FIELD_TAG_62F,
-                                    ClosingBalance.FIELD_TAG_62M);
                         } else {
                             informationToAccountOwner = InformationToAccountOwner.of(currentField);
-                            nextValidFieldSet = ImmutableSet.of(PageSeparator.TAG);
                         }
                         break;
                     }
-                    case PageSeparator.TAG: {
-                        nextValidFieldSet = ImmutableSet.of();
+                    case SEPARATOR: {
                         break;
                     }
                     default:
@@ -10,7 +10,7 @@ import org.joda.money.CurrencyUnit;
 import java.util.List;
 import java.util.Optional;
 
-import static com.qoomon.banking.swift.submessage.field.FieldUtils.swiftTextOf;
+import static com.qoomon.banking.swift.submessage.field.FieldUtils.appendSwiftTextTo;
 import static com.qoomon.banking.swift.submessage.field.subfield.DebitCreditMark.CREDIT;
 import static com.qoomon.banking.swift.submessage.field.subfield.DebitCreditMark.DEBIT;
 
@@ -119,12 +119,12 @@ public class MT942Page implements Page {
         Preconditions.checkArgument(transactionGroupList != null, "transactionGroupList can't be null");
 
         // ensure matching currencies
-        CurrencyUnit statementCurrency = floorLimitIndicatorDebit.getAmount().getCurrencyUnit();
+        CurrencyUnit statementCurrency = floorLimitIndicatorDebit.getCurrency();
         String statementFundsCode = statementCurrency.getCode().substring(2, 3);
 
         {
             // check floorLimitIndicatorCredit currency
-            CurrencyUnit currency = floorLimitIndicatorCredit.getAmount().getCurrencyUnit();
+            CurrencyUnit currency = floorLimitIndicatorCredit.getCurrency();
             Preconditions.checkArgument(currency.equals(statementCurrency), "floorLimitCreditCurrency '" + currency + "' does not match statement currency'" + statementCurrency + "'");
         }
 
@@ -136,12 +136,12 @@ public class MT942Page implements Page {
         }
 
         if (transactionSummaryDebit != null) {
-            CurrencyUnit currency = transactionSummaryDebit.getAmount().getCurrencyUnit();
+            CurrencyUnit currency = transactionSummaryDebit.getCurrency();
             Preconditions.checkArgument(currency.equals(statementCurrency), "transactionSummaryDebitCurrency '" + currency + "' does not match statement currency'" + statementCurrency + "'");
         }
 
         if (transactionSummaryCredit != null) {
-            CurrencyUnit currency = transactionSummaryCredit.getAmount().getCurrencyUnit();
+            CurrencyUnit currency = transactionSummaryCredit.getCurrency();
             Preconditions.checkArgument(currency.equals(statementCurrency), "transactionSummaryCreditCurrency '" + currency + "' does not match statement currency'" + statementCurrency + "'");
         }
 
@@ -209,24 +209,24 @@ public class MT942Page implements Page {
 
     public String getContent() {
         StringBuilder contentBuilder = new StringBuilder();
-        contentBuilder.append(swiftTextOf(transactionReferenceNumber)).append("\n");
-        relatedReference.ifPresent(field -> contentBuilder.append(swiftTextOf(field)).append("\n"));
-        contentBuilder.append(swiftTextOf(accountIdentification)).append("\n");
-        contentBuilder.append(swiftTextOf(statementNumber)).append("\n");
-        contentBuilder.append(swiftTextOf(floorLimitIndicatorDebit)).append("\n");
+        appendSwiftTextTo(contentBuilder, transactionReferenceNumber).append("\n");
+        relatedReference.ifPresent(field -> appendSwiftTextTo(contentBuilder, field).append("\n"));
+        appendSwiftTextTo(contentBuilder, accountIdentification).append("\n");
+        appendSwiftTextTo(contentBuilder, statementNumber).append("\n");
+        appendSwiftTextTo(contentBuilder, floorLimitIndicatorDebit).append("\n");
         if (!floorLimitIndicatorCredit.equals(floorLimitIndicatorDebit)) {
-            contentBuilder.append(swiftTextOf(floorLimitIndicatorCredit)).append("\n");
+            appendSwiftTextTo(contentBuilder, floorLimitIndicatorCredit).append("\n");
         }
-        contentBuilder.append(swiftTextOf(dateTimeIndicator)).append("\n");
+        appendSwiftTextTo(contentBuilder, dateTimeIndicator).append("\n");
         for (TransactionGroup transactionGroup : transactionGroupList) {
-            contentBuilder.append(swiftTextOf(transactionGroup.getStatementLine())).append("\n");
+            appendSwiftTextTo(contentBuilder, transactionGroup.getStatementLine()).append("\n");
             if (transactionGroup.getInformationToAccountOwner().isPresent()) {
-                contentBuilder.append(swiftTextOf(transactionGroup.getInformationToAccountOwner().get())).append("\n");
+                appendSwiftTextTo(contentBuilder, transactionGroup.getInformationToAccountOwner().get()).append("\n");
             }
         }
-        transactionSummaryDebit.ifPresent(field -> contentBuilder.append(swiftTextOf(field)).append("\n"));
-        transactionSummaryCredit.ifPresent(field -> contentBuilder.append(swiftTextOf(field)).append("\n"));
-        informationToAccountOwner.ifPresent(field -> contentBuilder.append(swiftTextOf(field)).append("\n"));
+        transactionSummaryDebit.ifPresent(field -> appendSwiftTextTo(contentBuilder, field).append("\n"));
+        transactionSummaryCredit.ifPresent(field -> appendSwiftTextTo(contentBuilder, field).append("\n"));
+        informationToAccountOwner.ifPresent(field -> appendSwiftTextTo(contentBuilder, field).append("\n"));
         contentBuilder.append(PageSeparator.TAG);
         return contentBuilder.toString();
     }
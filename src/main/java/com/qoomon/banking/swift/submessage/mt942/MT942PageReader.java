@@ -1,10 +1,9 @@
 package com.qoomon.banking.swift.submessage.mt942;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.ImmutableSet;
 import com.qoomon.banking.swift.message.exception.SwiftMessageParseException;
+import com.qoomon.banking.swift.submessage.PageGrammar;
 import com.qoomon.banking.swift.submessage.PageReader;
-import com.qoomon.banking.swift.submessage.PageSeparator;
 import com.qoomon.banking.swift.submessage.exception.PageParserException;
 import com.qoomon.banking.swift.submessage.field.*;
 import com.qoomon.banking.swift.submessage.field.subfield.DebitCreditMark;
@@ -14,8 +13,9 @@ import org.joda.money.CurrencyUnit;
 import java.io.Reader;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Set;
 
+import static com.qoomon.banking.swift.submessage.PageGrammar.*;
+import static com.qoomon.banking.swift.submessage.field.FieldTag.*;
 import static com.qoomon.banking.swift.submessage.field.subfield.DebitCreditMark.CREDIT;
 import static com.qoomon.banking.swift.submessage.field.subfield.DebitCreditMark.DEBIT;
 
@@ -24,6 +24,28 @@ import static com.qoomon.banking.swift.submessage.field.subfield.DebitCreditMark
  */
 public class MT942PageReader extends PageReader<MT942Page> {
 
+    private static final Element TRANSACTION_SUMMARY = oneOf(
+            sequence(field(TAG_90D), optional(field(TAG_90C)), optional(field(TAG_86))),
+            sequence(field(TAG_90C), optional(field(TAG_86))));
+
+    private static final PageGrammar GRAMMAR = PageGrammar.of(
+            field(TAG_20),
+            optional(field(TAG_21)),
+            field(TAG_25),
+            field(TAG_28C),
+            // second field 34F is checked by field content
+            field(TAG_34F),
+            optional(field(TAG_34F)),
+            field(TAG_13D),
+            oneOf(
+                    sequence(optional(field(TAG_90D)), optional(field(TAG_90C)), optional(field(TAG_86))),
+                    sequence(field(TAG_61), repeated(optional(field(TAG_86)), field(TAG_61)),
+                            // information of the last transaction can't end the page
+                            optional(oneOf(
+                                    TRANSACTION_SUMMARY,
+                                    sequence(field(TAG_86), oneOf(TRANSACTION_SUMMARY, field(TAG_86))))))),
+            field(SEPARATOR));
+
     private final SwiftFieldReader fieldReader;
 
 
@@ -50,7 +72,9 @@ public class MT942PageReader extends PageReader<MT942Page> {
         InformationToAccountOwner informationToAccountOwner = null;
 
         try {
-            Set<String> nextValidFieldSet = ImmutableSet.of(TransactionReferenceNumber.FIELD_TAG_20);
+            int grammarState = START_STATE;
+            // second field 34F is allowed after debit floor limit indicator only
+            boolean creditFloorLimitIndicatorExpected = false;
             GeneralField currentField = null;
             while (true) {
                 GeneralField previousField = currentField;
@@ -59,43 +83,37 @@ public class MT942PageReader extends PageReader<MT942Page> {
                     return null;
                 }
 
-                ensureValidField(currentField, nextValidFieldSet, fieldReader);
-                if (currentField.getTag().equals(PageSeparator.TAG)) {
+                grammarState = nextGrammarState(currentField, GRAMMAR, grammarState, fieldReader);
+                if (currentField.getFieldTag() == SEPARATOR) {
                     break;
                 }
 
-                switch (currentField.getTag()) {
-                    case TransactionReferenceNumber.FIELD_TAG_20: {
+                switch (currentField.getFieldTag()) {
+                    case TAG_20: {
                         transactionReferenceNumber = TransactionReferenceNumber.of(currentField);
-                        nextValidFieldSet = ImmutableSet.of(
-                                RelatedReference.FIELD_TAG_21,
-                                AccountIdentification.FIELD_TAG_25);
                         break;
                     }
-                    case RelatedReference.FIELD_TAG_21: {
+                    case TAG_21: {
                         relatedReference = RelatedReference.of(currentField);
-                        nextValidFieldSet = ImmutableSet.of(
-                                AccountIdentification.FIELD_TAG_25);
                         break;
                     }
-                    case AccountIdentification.FIELD_TAG_25: {
+                    case TAG_25: {
                         accountIdentification = AccountIdentification.of(currentField);
-                        nextValidFieldSet = ImmutableSet.of(
-                                StatementNumber.FIELD_TAG_28C);
                         break;
                     }
-                    case StatementNumber.FIELD_TAG_28C: {
+                    case TAG_28C: {
                         statementNumber = StatementNumber.of(currentField);
-                        nextValidFieldSet = ImmutableSet.of(
-                                FloorLimitIndicator.FIELD_TAG_34F);
                         break;
                     }
-                    case FloorLimitIndicator.FIELD_TAG_34F: {
+                    case TAG_34F: {
                         FloorLimitIndicator floorLimitIndicator = FloorLimitIndicator.of(currentField);
                         DebitCreditMark debitCreditMark = floorLimitIndicator.getDebitCreditMark().orElse(null);
 
                         // second occurrence of field 34F
                         if (floorLimitIndicatorDebit != null) {
+                            if (!creditFloorLimitIndicatorExpected) {
+                                ensureValidField(currentField, TAG_13D.mask(), fieldReader);
+                            }
                             if (debitCreditMark != CREDIT) {
                                 throw new PageParserException(
                                         "Expected Field '" + DateTimeIndicator.FIELD_TAG_13D + " (second occurrence) with CREDIT mark'," +
@@ -104,16 +122,14 @@ public class MT942PageReader extends PageReader<MT942Page> {
                         }
 
                         if (debitCreditMark != null) {
-                            CurrencyUnit currencyUnit = floorLimitIndicator.getAmount().getCurrencyUnit();
+                            CurrencyUnit currencyUnit = floorLimitIndicator.getCurrency();
                             switch (debitCreditMark) {
                                 case DEBIT: {
                                     floorLimitIndicatorDebit = floorLimitIndicator;
                                     // preset optional credit floor indicator
                                     floorLimitIndicatorCredit = new FloorLimitIndicator(CREDIT,
                                             BigMoney.zero(currencyUnit));
-                                    nextValidFieldSet = ImmutableSet.of(
-                                            FloorLimitIndicator.FIELD_TAG_34F,
-                                            DateTimeIndicator.FIELD_TAG_13D);
+                                    creditFloorLimitIndicatorExpected = true;
                                     break;
                                 }
                                 case CREDIT: {
@@ -123,8 +139,6 @@ public class MT942PageReader extends PageReader<MT942Page> {
                                         floorLimitIndicatorDebit = new FloorLimitIndicator(DEBIT,
                                                 BigMoney.zero(currencyUnit));
                                     }
-                                    nextValidFieldSet = ImmutableSet.of(
-                                            DateTimeIndicator.FIELD_TAG_13D);
                                     break;
                                 }
                                 default:
@@ -133,49 +147,28 @@ public class MT942PageReader extends PageReader<MT942Page> {
                         } else {
                             floorLimitIndicatorDebit = floorLimitIndicator;
                             floorLimitIndicatorCredit = floorLimitIndicator;
-                            nextValidFieldSet = ImmutableSet.of(
-                                    DateTimeIndicator.FIELD_TAG_13D);
                         }
                         break;
                     }
-                    case DateTimeIndicator.FIELD_TAG_13D: {
+                    case TAG_13D: {
                         dateTimeIndicator = DateTimeIndicator.of(currentField);
-                        nextValidFieldSet = ImmutableSet.of(
-                                StatementLine.FIELD_TAG_61,
-                                TransactionSummary.FIELD_TAG_90D,
-                                TransactionSummary.FIELD_TAG_90C,
-                                InformationToAccountOwner.FIELD_TAG_86,
-                                PageSeparator.TAG);
                         break;
                     }
-                    case StatementLine.FIELD_TAG_61: {
+                    case TAG_61: {
                         StatementLine statementLine = StatementLine.of(currentField);
                         transactionList.add(new TransactionGroup(statementLine, null));
-                        nextValidFieldSet = ImmutableSet.of(
-                                StatementLine.FIELD_TAG_61,
-                                TransactionSummary.FIELD_TAG_90D,
-                                TransactionSummary.FIELD_TAG_90C,
-                                InformationToAccountOwner.FIELD_TAG_86,
-                                PageSeparator.TAG);
                         break;
                     }
-                    case TransactionSummary.FIELD_TAG_90D: {
+                    case TAG_90D: {
                         transactionSummaryDebit = TransactionSummary.of(currentField);
-                        nextValidFieldSet = ImmutableSet.of(
-                                TransactionSummary.FIELD_TAG_90C,
-                                InformationToAccountOwner.FIELD_TAG_86,
-                                PageSeparator.TAG);
                         break;
                     }
-                    case TransactionSummary.FIELD_TAG_90C: {
+                    case TAG_90C: {
                         transactionSummaryCredit = TransactionSummary.of(currentField);
-                        nextValidFieldSet = ImmutableSet.of(
-                                InformationToAccountOwner.FIELD_TAG_86,
-                                PageSeparator.TAG);
                         break;
                     }
-                    case InformationToAccountOwner.FIELD_TAG_86: {
-                        if (previousField != null && previousField.getTag().equals(StatementLine.FIELD_TAG_61)) {
+                    case TAG_86: {
+                        if (previousField != null && previousField.getFieldTag() == TAG_61) {
                             // amend transaction with transactionInformationToAccountOwner
                             int lastTransactionIndex = transactionList.size() - 1;
                             TransactionGroup lastTransaction = transactionList.get(lastTransactionIndex);
@@ -183,20 +176,12 @@ public class MT942PageReader extends PageReader<MT942Page> {
 
                             TransactionGroup updatedTransaction = new TransactionGroup(lastTransaction.getStatementLine(), transactionInformationToAccountOwner);
                             transactionList.set(lastTransactionIndex, updatedTransaction);
-
-                            nextValidFieldSet = ImmutableSet.of(
-                                    StatementLine.FIELD_TAG_61,
-                                    TransactionSummary.FIELD_TAG_90D,
-                                    TransactionSummary.FIELD_TAG_90C,
-                                    InformationToAccountOwner.FIELD_TAG_86);
                         } else {
                             informationToAccountOwner = InformationToAccountOwner.of(currentField);
-                            nextValidFieldSet = ImmutableSet.of(PageSeparator.TAG);
                         }
                         break;
                     }
-                    case PageSeparator.TAG: {
-                        nextValidFieldSet = ImmutableSet.of();
+                    case SEPARATOR: {
                         break;
                     }
                     default:
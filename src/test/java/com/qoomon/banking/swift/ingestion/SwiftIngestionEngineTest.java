@@ -0,0 +1,91 @@
+package com.qoomon.banking.swift.ingestion;
+
+import com.google.common.io.Resources;
+import com.qoomon.banking.swift.message.SwiftMessage;
+import com.qoomon.banking.swift.submessage.Page;
+import com.qoomon.banking.swift.submessage.mt940.MT940Page;
+import com.qoomon.banking.swift.submessage.mt940.MT940PageReader;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SwiftIngestionEngineTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void ingest_SHOULD_pass_messages_pages_and_errors_of_all_files() throws Exception {
+
+        // Given
+        String mt940PageText = Resources.toString(Resources.getResource("submessage/mt940_valid/valid-mt940-content.txt"), StandardCharsets.UTF_8);
+        String mt940Text = "{1:F01YOURCODEZABC1234567890}{2:I940BANKDEFFXXXXU3003}{4:\n" + mt940PageText.trim() + "}";
+        String mt942Text = Resources.toString(Resources.getResource("swiftmessage/valid-mt942.txt"), StandardCharsets.UTF_8);
+        Path directory = temporaryFolder.newFolder().toPath();
+        for (int fileIndex = 0; fileIndex < 20; fileIndex++) {
+            Files.write(directory.resolve("statement-" + fileIndex + ".txt"),
+                    (mt940Text + "\n" + mt942Text).getBytes(StandardCharsets.US_ASCII));
+        }
+        Files.write(directory.resolve("invalid.txt"), "{1:".getBytes(StandardCharsets.US_ASCII));
+
+        SwiftIngestionEngine classUnderTest = new SwiftIngestionEngine(4);
+        classUnderTest.setPageReader("940", MT940PageReader::new);
+
+        RecordingSink sink = new RecordingSink();
+
+        // When
+        classUnderTest.ingest(directory, sink);
+
+        // Then
+        assertThat(sink.messages).hasSize(40);
+        assertThat(sink.pages).hasSize(20).allMatch(page -> page instanceof MT940Page);
+        assertThat(sink.errorFiles).containsExactly(directory.resolve("invalid.txt"));
+        assertThat(sink.completedFileMessageCount).hasSize(20).allSatisfy((file, messageCount) -> assertThat(messageCount).isEqualTo(2));
+        assertThat(sink.maxConcurrentFiles.get()).isLessThanOrEqualTo(4);
+    }
+
+    private static class RecordingSink implements SwiftIngestionSink {
+
+        private final List<SwiftMessage> messages = new CopyOnWriteArrayList<>();
+        private final List<Page> pages = new CopyOnWriteArrayList<>();
+        private final List<Path> errorFiles = new CopyOnWriteArrayList<>();
+        private final Map<Path, Integer> completedFileMessageCount = new ConcurrentHashMap<>();
+
+        private final Map<Path, Boolean> activeFiles = new ConcurrentHashMap<>();
+        private final AtomicInteger maxConcurrentFiles = new AtomicInteger();
+
+        @Override
+        public void onMessage(Path file, int messageIndex, SwiftMessage message) {
+            activeFiles.put(file, true);
+            maxConcurrentFiles.accumulateAndGet(activeFiles.size(), Math::max);
+            messages.add(message);
+        }
+
+        @Override
+        public void onPage(Path file, int messageIndex, int pageIndex, Page page) {
+            pages.add(page);
+        }
+
+        @Override
+        public void onError(Path file, Exception exception) {
+            errorFiles.add(file);
+        }
+
+        @Override
+        public void onFileComplete(Path file, int messageCount) {
+            activeFiles.remove(file);
+            completedFileMessageCount.put(file, messageCount);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.qoomon.banking.swift.message;
+
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Strings;
+import com.google.common.io.Resources;
+import com.qoomon.banking.swift.message.exception.SwiftMessageParseException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class ParallelSwiftMessageReaderTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void readAll_SHOULD_return_same_messages_in_same_order_as_sequential_reader() throws Exception {
+
+        // Given
+        String mt940Text = Resources.toString(Resources.getResource("swiftmessage/valid-mt940.txt"), StandardCharsets.UTF_8);
+        String mt942Text = Resources.toString(Resources.getResource("swiftmessage/valid-mt942.txt"), StandardCharsets.UTF_8);
+        String text = Strings.repeat(mt940Text + "\n" + mt942Text + "\n", 50);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        ParallelSwiftMessageReader classUnderTest = new ParallelSwiftMessageReader(text, executor);
+
+        // When
+        List<SwiftMessage> messageList;
+        try {
+            messageList = classUnderTest.readAll();
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        List<SwiftMessage> expectedMessageList = new SwiftMessageReader(new StringReader(text)).readAll();
+        assertThat(messageList).hasSize(100);
+        for (int i = 0; i < messageList.size(); i++) {
+            assertThat(messageList.get(i).getContent()).isEqualTo(expectedMessageList.get(i).getContent());
+        }
+    }
+
+    @Test
+    public void readAll_WHEN_message_is_invalid_THEN_throw_exception_with_file_line_number() throws Exception {
+
+        // Given
+        String validMessage = "{1:F01YOURCODEZABC1234567890}{2:I940BANKDEFFXXXXU3003}{4:\n-}\n";
+        String invalidMessage = "{1:F01YOURCODEZABC1234567890}{2:I940BANKDEFFXXXXU3003}{4:\n-}{6:}";
+        String text = validMessage + validMessage + invalidMessage + validMessage;
+
+        ParallelSwiftMessageReader classUnderTest = new ParallelSwiftMessageReader(text);
+
+        // When
+        Throwable exception = catchThrowable(classUnderTest::readAll);
+
+        // Then
+        Throwable expectedException = catchThrowable(() -> new SwiftMessageReader(new StringReader(text)).readAll());
+        assertThat(exception).isInstanceOf(SwiftMessageParseException.class);
+        assertThat(((SwiftMessageParseException) exception).getLineNumber())
+                .isEqualTo(((SwiftMessageParseException) expectedException).getLineNumber())
+                .isEqualTo(6);
+    }
+
+    @Test
+    public void readAll_WHEN_message_is_invalid_THEN_skip_parsing_of_queued_messages() throws Exception {
+
+        // Given
+        String validMessage = "{1:F01YOURCODEZABC1234567890}{2:I940BANKDEFFXXXXU3003}{4:\n-}\n";
+        String invalidMessage = "{1:F01YOURCODEZABC1234567890}{2:I940BANKDEFFXXXXU3003}{4:\n-}{6:}";
+        String text = validMessage + invalidMessage + Strings.repeat(validMessage, 100);
+
+        // every parsed message is a sub sequence of the text
+        AtomicInteger parsedMessageCount = new AtomicInteger();
+        CharSequence countingText = new CharSequence() {
+            @Override
+            public int length() {
+                return text.length();
+            }
+
+            @Override
+            public char charAt(int index) {
+                return text.charAt(index);
+            }
+
+            @Override
+            public CharSequence subSequence(int start, int end) {
+                parsedMessageCount.incrementAndGet();
+                return text.subSequence(start, end);
+            }
+        };
+
+        // runs all tasks in order once all are queued, before any result is awaited
+        List<Runnable> queuedTasks = new ArrayList<>();
+        Executor executor = task -> {
+            queuedTasks.add(task);
+            if (queuedTasks.size() == 102) {
+                queuedTasks.forEach(Runnable::run);
+            }
+        };
+        ParallelSwiftMessageReader classUnderTest = new ParallelSwiftMessageReader(countingText, executor);
+
+        // When
+        Throwable exception = catchThrowable(classUnderTest::readAll);
+
+        // Then
+        assertThat(exception).isInstanceOf(SwiftMessageParseException.class);
+        assertThat(parsedMessageCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void open_SHOULD_read_messages_from_memory_mapped_file() throws Exception {
+
+        // Given
+        Path file = temporaryFolder.newFile().toPath();
+        Path messageFile = Paths.get(Resources.getResource("swiftmessage/valid-mt940.txt").toURI());
+        String messageText = new String(Files.readAllBytes(messageFile), StandardCharsets.US_ASCII);
+        Files.write(file, Strings.repeat(messageText, 3).getBytes(StandardCharsets.US_ASCII));
+
+        // When
+        List<SwiftMessage> messageList = ParallelSwiftMessageReader.open(file).readAll();
+
+        // Then
+        assertThat(messageList).hasSize(3);
+        assertThat(messageList.get(2).getContent()).isEqualTo(new SwiftMessageReader(messageText).read().getContent());
+    }
+
+    @Test
+    public void readAll_WHEN_file_contains_non_ascii_bytes_THEN_throw_exception_at_line() throws Exception {
+
+        // Given
+        Path file = temporaryFolder.newFile().toPath();
+        Path messageFile = Paths.get(Resources.getResource("swiftmessage/valid-mt940.txt").toURI());
+        String messageText = new String(Files.readAllBytes(messageFile), StandardCharsets.US_ASCII);
+        String invalidMessageText = messageText.replaceFirst(":20:", ":20:\u00e4");
+        Files.write(file, (messageText + invalidMessageText).getBytes(StandardCharsets.ISO_8859_1));
+        int invalidLineNumber = CharMatcher.is('\n').countIn(messageText + invalidMessageText.substring(0, invalidMessageText.indexOf('\u00e4'))) + 1;
+
+        ParallelSwiftMessageReader classUnderTest = ParallelSwiftMessageReader.open(file);
+
+        // When
+        Throwable exception = catchThrowable(classUnderTest::readAll);
+
+        // Then
+        assertThat(exception).isInstanceOf(SwiftMessageParseException.class).hasMessageContaining("0xE4");
+        assertThat(((SwiftMessageParseException) exception).getLineNumber()).isEqualTo(invalidLineNumber);
+    }
+
+}
@@ -0,0 +1,152 @@
+package com.qoomon.banking.swift.message;
+
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReaderPublisherTest {
+
+    private static final String MESSAGE = "{1:F01YOURCODEZABC1234567890}{2:I940BANKDEFFXXXXU3003}{4:\n-}";
+
+    @Test
+    public void subscribe_SHOULD_read_requested_items_only() throws Exception {
+
+        // Given
+        AtomicInteger readCount = new AtomicInteger();
+        AtomicBoolean closed = new AtomicBoolean();
+        ReaderPublisher<Integer> classUnderTest = new ReaderPublisher<>(
+                () -> readCount.get() < 10 ? readCount.incrementAndGet() : null,
+                () -> closed.set(true),
+                Runnable::run);
+
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+
+        // When
+        classUnderTest.subscribe(subscriber);
+        subscriber.subscription.request(3);
+        int readCountAfterRequest = readCount.get();
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        // Then
+        assertThat(readCountAfterRequest).isEqualTo(3);
+        assertThat(subscriber.items).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+        assertThat(subscriber.completion).isCompleted();
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    public void subscribe_WHEN_subscription_is_cancelled_THEN_stop_reading() throws Exception {
+
+        // Given
+        AtomicInteger readCount = new AtomicInteger();
+        AtomicBoolean closed = new AtomicBoolean();
+        ReaderPublisher<Integer> classUnderTest = new ReaderPublisher<>(
+                readCount::incrementAndGet,
+                () -> closed.set(true),
+                Runnable::run);
+
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+
+        // When
+        classUnderTest.subscribe(subscriber);
+        subscriber.subscription.request(2);
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(2);
+
+        // Then
+        assertThat(readCount.get()).isEqualTo(2);
+        assertThat(subscriber.completion).isNotDone();
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    public void subscribe_WHEN_subscriber_throws_THEN_cancel_subscription() throws Exception {
+
+        // Given
+        AtomicInteger readCount = new AtomicInteger();
+        AtomicBoolean closed = new AtomicBoolean();
+        ReaderPublisher<Integer> classUnderTest = new ReaderPublisher<>(
+                readCount::incrementAndGet,
+                () -> closed.set(true),
+                Runnable::run);
+
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<Integer>() {
+            @Override
+            public void onNext(Integer item) {
+                super.onNext(item);
+                if (item == 2) {
+                    throw new IllegalStateException("subscriber failure");
+                }
+            }
+        };
+
+        // When
+        classUnderTest.subscribe(subscriber);
+        subscriber.subscription.request(5);
+        subscriber.subscription.request(5);
+
+        // Then
+        assertThat(readCount.get()).isEqualTo(2);
+        assertThat(subscriber.items).containsExactly(1, 2);
+        assertThat(subscriber.completion).isNotDone();
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    public void publisher_SHOULD_publish_messages_of_reader() throws Exception {
+
+        // Given
+        SwiftMessageReader messageReader = new SwiftMessageReader(new StringReader(MESSAGE + MESSAGE + "\n{4:\n-}"));
+        Executor executor = command -> new Thread(command).start();
+
+        RecordingSubscriber<SwiftMessage> subscriber = new RecordingSubscriber<>();
+
+        // When
+        messageReader.publisher(executor).subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        Throwable error = subscriber.completion.handle((result, exception) -> exception).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(subscriber.items).hasSize(1);
+        assertThat(error).isNotNull();
+    }
+
+    private static class RecordingSubscriber<T> implements Flow.Subscriber<T> {
+
+        private final List<T> items = new ArrayList<>();
+
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+        private Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            completion.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            completion.complete(null);
+        }
+    }
+}
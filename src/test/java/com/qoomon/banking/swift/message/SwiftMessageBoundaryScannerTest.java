@@ -0,0 +1,42 @@
+package com.qoomon.banking.swift.message;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SwiftMessageBoundaryScannerTest {
+
+    @Test
+    public void scan_SHOULD_split_at_top_level_basic_header_blocks() throws Exception {
+
+        // Given
+        String firstMessage = "{1:F01YOURCODEZABC1234567890}{2:I940BANKDEFFXXXXU3003}{4:\n:20:{1:x}\n-}\n";
+        String secondMessage = "{1:F01YOURCODEZABC1234567890}{2:I940BANKDEFFXXXXU3003}{3:{1:x}}{4:\n-}";
+        String text = firstMessage + secondMessage;
+
+        // When
+        List<SwiftMessageRange> rangeList = SwiftMessageBoundaryScanner.scan(text);
+
+        // Then
+        assertThat(rangeList).hasSize(2);
+        assertThat(rangeList.get(0).getStart()).isEqualTo(0);
+        assertThat(rangeList.get(0).getEnd()).isEqualTo(firstMessage.length());
+        assertThat(rangeList.get(0).getLineNumber()).isEqualTo(1);
+        assertThat(rangeList.get(1).getStart()).isEqualTo(firstMessage.length());
+        assertThat(rangeList.get(1).getEnd()).isEqualTo(text.length());
+        assertThat(rangeList.get(1).getLineNumber()).isEqualTo(4);
+    }
+
+    @Test
+    public void scan_WHEN_text_contains_no_block_THEN_return_no_range() throws Exception {
+
+        // When
+        List<SwiftMessageRange> rangeList = SwiftMessageBoundaryScanner.scan(" \n ");
+
+        // Then
+        assertThat(rangeList).isEmpty();
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.qoomon.banking.swift.message;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class SwiftMessageIndexTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void build_SHOULD_index_messages_for_random_access() throws Exception {
+
+        // Given
+        StringBuilder swiftMessageTextBuilder = new StringBuilder();
+        for (int messageIndex = 0; messageIndex < 10; messageIndex++) {
+            swiftMessageTextBuilder
+                    .append("{1:F01YOURCODEZABC1234567890}{2:I940BANKDEFFXXXXU3003}")
+                    .append("{3:{108:MUR").append(messageIndex).append("}}")
+                    .append("{4:\n:20:REF").append(messageIndex).append("\n-}\r\n");
+        }
+        Path file = temporaryFolder.newFile().toPath();
+        Files.write(file, swiftMessageTextBuilder.toString().getBytes(StandardCharsets.US_ASCII));
+        Path indexFile = temporaryFolder.newFile().toPath();
+
+        // When
+        SwiftMessageIndex.build(file).write(indexFile);
+        SwiftMessageIndex index = SwiftMessageIndex.read(indexFile);
+
+        SwiftMessage message;
+        try (SwiftMessageReader messageReader = SwiftMessageReader.open(file, index, 7)) {
+            message = messageReader.read();
+        }
+
+        // Then
+        assertThat(index.getFileSize()).isEqualTo(Files.size(file));
+        assertThat(index.getEntries()).hasSize(10);
+        SwiftMessageIndex.Entry entry = index.getEntry(7);
+        assertThat(entry.getLineNumber()).isEqualTo(22);
+        assertThat(entry.getMessageType()).isEqualTo("940");
+        assertThat(entry.getMessageUserReference()).contains("MUR7");
+        assertThat(message.getUserHeaderBlock().get().getMessageUserReference()).isEqualTo("MUR7");
+        assertThat(new String(Files.readAllBytes(file), StandardCharsets.US_ASCII)
+                .substring((int) entry.getStartOffset(), (int) entry.getEndOffset()))
+                .isEqualTo(message.getContent());
+    }
+
+    @Test
+    public void open_WHEN_index_is_outdated_THEN_throw_exception() throws Exception {
+
+        // Given
+        String messageText = "{1:F01YOURCODEZABC1234567890}{2:I940BANKDEFFXXXXU3003}{4:\n:20:REF\n-}\n";
+        Path file = temporaryFolder.newFile().toPath();
+        Files.write(file, messageText.getBytes(StandardCharsets.US_ASCII));
+        SwiftMessageIndex index = SwiftMessageIndex.build(file);
+        Files.write(file, ("\n" + messageText).getBytes(StandardCharsets.US_ASCII));
+
+        // When
+        Throwable exception = catchThrowable(() -> SwiftMessageReader.open(file, index, 0));
+
+        // Then
+        assertThat(exception).isInstanceOf(IOException.class).hasMessageContaining("Outdated message index");
+    }
+}
@@ -0,0 +1,97 @@
+package com.qoomon.banking.swift.message;
+
+import com.google.common.base.Strings;
+import com.google.common.io.Resources;
+import com.qoomon.banking.swift.message.exception.SwiftMessageParseException;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class SwiftMessagePushParserTest {
+
+    private static final String MESSAGE = "{1:F01YOURCODEZABC1234567890}{2:I940BANKDEFFXXXXU3003}{4:\n-}";
+
+    @Test
+    public void feed_SHOULD_return_same_messages_as_message_reader_for_any_chunk_size() throws Exception {
+
+        // Given
+        String mt940Text = Resources.toString(Resources.getResource("swiftmessage/valid-mt940.txt"), StandardCharsets.UTF_8);
+        String mt942Text = Resources.toString(Resources.getResource("swiftmessage/valid-mt942.txt"), StandardCharsets.UTF_8);
+        String text = Strings.repeat(mt940Text + "\r\n" + mt942Text + "\n", 10);
+        byte[] textBytes = text.getBytes(StandardCharsets.US_ASCII);
+
+        List<SwiftMessage> expectedMessageList = new SwiftMessageReader(new StringReader(text)).readAll();
+
+        Random random = new Random(42);
+        for (int run = 0; run < 20; run++) {
+            List<SwiftMessage> messageList = new ArrayList<>();
+            SwiftMessagePushParser classUnderTest = new SwiftMessagePushParser(messageList::add);
+
+            // When
+            int position = 0;
+            while (position < textBytes.length) {
+                int chunkSize = Math.min(1 + random.nextInt(64), textBytes.length - position);
+                if (run % 2 == 0) {
+                    classUnderTest.feed(ByteBuffer.wrap(textBytes, position, chunkSize));
+                } else {
+                    classUnderTest.feed(text.subSequence(position, position + chunkSize));
+                }
+                position += chunkSize;
+            }
+            classUnderTest.finish();
+
+            // Then
+            assertThat(messageList).hasSize(expectedMessageList.size());
+            for (int i = 0; i < messageList.size(); i++) {
+                assertThat(messageList.get(i).getContent()).isEqualTo(expectedMessageList.get(i).getContent());
+            }
+        }
+    }
+
+    @Test
+    public void feed_SHOULD_pass_message_when_next_message_starts() throws Exception {
+
+        // Given
+        List<SwiftMessage> messageList = new ArrayList<>();
+        SwiftMessagePushParser classUnderTest = new SwiftMessagePushParser(messageList::add);
+
+        // When
+        classUnderTest.feed(MESSAGE + "\n");
+        int messageCountBeforeNextMessage = messageList.size();
+        classUnderTest.feed("{1:F01YOURCODEZABC1234567890}");
+        int messageCountAfterNextMessage = messageList.size();
+        classUnderTest.feed("{2:I940BANKDEFFXXXXU3003}{4:\n-}{S:}");
+
+        // Then
+        assertThat(messageCountBeforeNextMessage).isEqualTo(0);
+        assertThat(messageCountAfterNextMessage).isEqualTo(1);
+        assertThat(messageList).hasSize(2);
+        assertThat(messageList.get(1).getSystemTrailerBlock()).isPresent();
+    }
+
+    @Test
+    public void feed_WHEN_message_is_invalid_THEN_throw_exception_with_line_number() throws Exception {
+
+        // Given
+        List<SwiftMessage> messageList = new ArrayList<>();
+        SwiftMessagePushParser classUnderTest = new SwiftMessagePushParser(messageList::add);
+
+        // When
+        classUnderTest.feed(MESSAGE + "\n" + MESSAGE);
+        Throwable exception = catchThrowable(() -> classUnderTest.feed("\n}"));
+
+        // Then
+        assertThat(messageList).hasSize(1);
+        assertThat(exception).isInstanceOf(SwiftMessageParseException.class);
+        assertThat(((SwiftMessageParseException) exception).getLineNumber()).isEqualTo(5);
+    }
+
+}
@@ -4,15 +4,23 @@ import com.google.common.base.Throwables;
 import com.google.common.io.Resources;
 import com.qoomon.banking.TestUtils;
 import com.qoomon.banking.swift.message.exception.SwiftMessageParseException;
+import com.qoomon.banking.swift.message.exception.UncheckedSwiftMessageParseException;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.ByteArrayInputStream;
 import java.io.FileReader;
+import java.io.InputStream;
 import java.io.StringReader;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
@@ -28,6 +36,9 @@ public class SwiftMessageReaderTest {
     private static final String BLOCK_4_DUMMY_EMPTY = "{4:\n-}";
     private static final String BLOCK_5_DUMMY_EMPTY = "{5:}";
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void parse_SHOULD_read_multiple_messages() throws Exception {
 
@@ -205,4 +216,457 @@ public class SwiftMessageReaderTest {
         assertThat(content).isEqualTo(contentInput);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void parse_SHOULD_parse_valid_files_from_byte_stream() throws Exception {
+
+        // Given
+        URL mt940_valid_folder = Resources.getResource("swiftmessage");
+        Stream<Path> files = Files.walk(Paths.get(mt940_valid_folder.toURI())).filter(path -> Files.isRegularFile(path));
+
+        // When
+        final int[] errors = {0};
+        files.forEach(filePath -> {
+            try (InputStream fileStream = Files.newInputStream(filePath)) {
+                SwiftMessageReader classUnderTest = new SwiftMessageReader(fileStream);
+                SwiftMessage message = classUnderTest.read();
+                assertThat(message.getContent()).isEqualTo(new SwiftMessageReader(new FileReader(filePath.toFile())).read().getContent());
+            } catch (Exception e) {
+                System.out.println(Throwables.getStackTraceAsString(e));
+                errors[0]++;
+            }
+        });
+
+        // Then
+        assertThat(errors[0]).isEqualTo(0);
+    }
+
+    @Test
+    public void open_SHOULD_read_messages_from_memory_mapped_file() throws Exception {
+
+        // Given
+        String swiftMessageText = ""
+                + BLOCK_1_DUMMY_VALID + BLOCK_2_DUMMY_VALID + BLOCK_3_DUMMY_VALID
+                + BLOCK_4_DUMMY_EMPTY + BLOCK_5_DUMMY_EMPTY + "\n"
+                + BLOCK_1_DUMMY_VALID + BLOCK_2_DUMMY_VALID
+                + BLOCK_4_DUMMY_EMPTY;
+        Path file = temporaryFolder.newFile().toPath();
+        Files.write(file, swiftMessageText.getBytes(StandardCharsets.US_ASCII));
+
+        // When
+        List<SwiftMessage> messageList;
+        List<SwiftMessage> windowedMessageList;
+        try (SwiftMessageReader classUnderTest = SwiftMessageReader.open(file);
+             SwiftMessageReader windowedClassUnderTest = SwiftMessageReader.open(file, 0, 7)) {
+            messageList = classUnderTest.readAll();
+            windowedMessageList = windowedClassUnderTest.readAll();
+        }
+
+        // Then
+        assertThat(messageList).hasSize(2);
+        assertThat(windowedMessageList).hasSize(2);
+        for (int i = 0; i < messageList.size(); i++) {
+            assertThat(windowedMessageList.get(i).getContent()).isEqualTo(messageList.get(i).getContent());
+        }
+        assertThat(messageList.get(0).getContent()).isEqualTo(""
+                + BLOCK_1_DUMMY_VALID + BLOCK_2_DUMMY_VALID + BLOCK_3_DUMMY_VALID
+                + BLOCK_4_DUMMY_EMPTY + BLOCK_5_DUMMY_EMPTY);
+    }
+
+    @Test
+    public void open_WHEN_resilient_and_file_contains_non_ascii_bytes_THEN_skip_invalid_message() throws Exception {
+
+        // Given
+        String invalidMessageText = BLOCK_1_DUMMY_VALID + BLOCK_2_DUMMY_VALID + "{4:\n:20:\u00e4\n-}";
+        String messageText = BLOCK_1_DUMMY_VALID + BLOCK_2_DUMMY_VALID + BLOCK_4_DUMMY_EMPTY;
+        String swiftMessageText = invalidMessageText + "\n" + messageText;
+        Path file = temporaryFolder.newFile().toPath();
+        Files.write(file, swiftMessageText.getBytes(StandardCharsets.ISO_8859_1));
+
+        // When
+        List<SwiftMessage> messageList;
+        List<SkippedMessageRange> skippedRanges;
+        try (SwiftMessageReader classUnderTest = SwiftMessageReader.open(file)) {
+            classUnderTest.setResilient(true);
+            messageList = classUnderTest.readAll();
+            skippedRanges = classUnderTest.getSkippedRanges();
+        }
+
+        // Then
+        assertThat(messageList).extracting(SwiftMessage::getContent).containsExactly(messageText);
+        assertThat(skippedRanges).hasSize(1);
+        assertThat(skippedRanges.get(0).getEndOffset()).isEqualTo(invalidMessageText.length() + 1);
+        assertThat(skippedRanges.get(0).getException()).hasMessageContaining("0xE4");
+    }
+
+    @Test
+    public void stream_SHOULD_read_messages_lazily_in_order() throws Exception {
+
+        // Given
+        StringBuilder swiftMessageTextBuilder = new StringBuilder();
+        for (int messageIndex = 0; messageIndex < 500; messageIndex++) {
+            swiftMessageTextBuilder
+                    .append(BLOCK_1_DUMMY_VALID).append(BLOCK_2_DUMMY_VALID)
+                    .append("{4:\n:20:REF").append(messageIndex).append("\n-}");
+        }
+        String swiftMessageText = swiftMessageTextBuilder.toString();
+
+        // When
+        List<String> sequentialContentList;
+        try (Stream<SwiftMessage> messageStream = new SwiftMessageReader(swiftMessageText).stream()) {
+            sequentialContentList = messageStream.map(SwiftMessage::getContent).collect(Collectors.toList());
+        }
+        List<String> parallelContentList;
+        try (Stream<SwiftMessage> messageStream = new SwiftMessageReader(new StringReader(swiftMessageText)).stream()) {
+            parallelContentList = messageStream.parallel().map(SwiftMessage::getContent).collect(Collectors.toList());
+        }
+
+        // Then
+        assertThat(sequentialContentList).hasSize(500);
+        assertThat(sequentialContentList.get(42)).isEqualTo(BLOCK_1_DUMMY_VALID + BLOCK_2_DUMMY_VALID + "{4:\n:20:REF42\n-}");
+        assertThat(parallelContentList).isEqualTo(sequentialContentList);
+    }
+
+    @Test
+    public void stream_WHEN_message_is_invalid_THEN_throw_unchecked_exception() throws Exception {
+
+        // Given
+        String swiftMessageText = BLOCK_1_DUMMY_VALID + BLOCK_2_DUMMY_VALID + BLOCK_4_DUMMY_EMPTY
+                + "\n" + BLOCK_1_DUMMY_VALID + BLOCK_4_DUMMY_EMPTY;
+
+        SwiftMessageReader classUnderTest = new SwiftMessageReader(swiftMessageText);
+
+        // When
+        Throwable exception = catchThrowable(() -> classUnderTest.stream().count());
+
+        // Then
+        assertThat(exception).as("Exception").isInstanceOf(UncheckedSwiftMessageParseException.class);
+
+        SwiftMessageParseException parseException = ((UncheckedSwiftMessageParseException) exception).getCause();
+        assertThat(parseException.getLineNumber()).isEqualTo(4);
+    }
+
+    @Test
+    public void stream_SHOULD_close_reader_on_close() throws Exception {
+
+        // Given
+        final boolean[] closed = {false};
+        StringReader textReader = new StringReader(BLOCK_1_DUMMY_VALID + BLOCK_2_DUMMY_VALID + BLOCK_4_DUMMY_EMPTY) {
+            @Override
+            public void close() {
+                closed[0] = true;
+                super.close();
+            }
+        };
+
+        // When
+        try (Stream<SwiftMessage> messageStream = new SwiftMessageReader(textReader).stream()) {
+            assertThat(messageStream.count()).isEqualTo(1);
+        }
+
+        // Then
+        assertThat(closed[0]).isTrue();
+    }
+
+    @Test
+    public void readEnvelope_SHOULD_read_header_blocks_and_message_location() throws Exception {
+
+        // Given
+        String firstMessageText = BLOCK_1_DUMMY_VALID + BLOCK_2_DUMMY_VALID + BLOCK_3_DUMMY_VALID
+                + "{4:\n:20:{unparsed}\n-}" + BLOCK_5_DUMMY_EMPTY;
+        String secondMessageText = BLOCK_1_DUMMY_VALID + "{2:I940YOURBANKXJKLU3003}" + BLOCK_4_DUMMY_EMPTY;
+        String swiftMessageText = firstMessageText + "\n" + secondMessageText;
+
+        SwiftMessageReader classUnderTest = new SwiftMessageReader(new StringReader(swiftMessageText));
+
+        // When
+        List<SwiftMessageEnvelope> envelopeList = TestUtils.collectUntilNull(classUnderTest::readEnvelope);
+
+        // Then
+        assertThat(envelopeList).hasSize(2);
+        SwiftMessageEnvelope firstEnvelope = envelopeList.get(0);
+        assertThat(firstEnvelope.getMessageType()).isEqualTo("100");
+        assertThat(firstEnvelope.getLineNumber()).isEqualTo(1);
+        assertThat(swiftMessageText.substring((int) firstEnvelope.getStartOffset(), (int) firstEnvelope.getEndOffset()))
+                .isEqualTo(firstMessageText);
+        SwiftMessageEnvelope secondEnvelope = envelopeList.get(1);
+        assertThat(secondEnvelope.getMessageType()).isEqualTo("940");
+        assertThat(secondEnvelope.getLineNumber()).isEqualTo(4);
+        assertThat(swiftMessageText.substring((int) secondEnvelope.getStartOffset(), (int) secondEnvelope.getEndOffset()))
+                .isEqualTo(secondMessageText);
+    }
+
+    @Test
+    public void readEnvelope_WHEN_text_block_is_missing_THEN_throw_exception() throws Exception {
+
+        // Given
+        String swiftMessageText = BLOCK_1_DUMMY_VALID + BLOCK_2_DUMMY_VALID + BLOCK_3_DUMMY_VALID + BLOCK_5_DUMMY_EMPTY;
+
+        SwiftMessageReader classUnderTest = new SwiftMessageReader(new StringReader(swiftMessageText));
+
+        // When
+        Throwable exception = catchThrowable(classUnderTest::readEnvelope);
+
+        // Then
+        assertThat(exception).as("Exception").isInstanceOf(SwiftMessageParseException.class);
+    }
+
+    @Test
+    public void read_WHEN_lazy_block_decoding_THEN_decode_blocks_on_first_access() throws Exception {
+
+        // Given
+        String invalidTextBlock = "{4:\ninvalid}";
+        String swiftMessageText = BLOCK_1_DUMMY_VALID + BLOCK_2_DUMMY_VALID + BLOCK_3_DUMMY_VALID
+                + invalidTextBlock + BLOCK_5_DUMMY_EMPTY;
+
+        SwiftMessageReader classUnderTest = new SwiftMessageReader(new StringReader(swiftMessageText));
+        classUnderTest.setLazyBlockDecoding(true);
+
+        // When
+        SwiftMessage message = classUnderTest.read();
+
+        // Then
+        assertThat(message.getContent()).isEqualTo(swiftMessageText);
+        assertThat(message.getUserHeaderBlock().get().getMessageUserReference()).isEqualTo("ILOVESEPA");
+        assertThat(message.getUserTrailerBlock()).isPresent();
+
+        Throwable exception = catchThrowable(message::getTextBlock);
+        assertThat(exception).as("Exception").isInstanceOf(UncheckedSwiftMessageParseException.class);
+        assertThat(((UncheckedSwiftMessageParseException) exception).getCause().getLineNumber()).isEqualTo(2);
+    }
+
+    @Test
+    public void read_WHEN_message_filter_is_set_THEN_skip_not_accepted_messages() throws Exception {
+
+        // Given
+        String acceptedMessageText = BLOCK_1_DUMMY_VALID + "{2:I940YOURBANKXJKLU3003}" + BLOCK_4_DUMMY_EMPTY;
+        String swiftMessageText = ""
+                + BLOCK_1_DUMMY_VALID + BLOCK_2_DUMMY_VALID + "{4:\nnot parsed}" + BLOCK_5_DUMMY_EMPTY
+                + acceptedMessageText
+                + BLOCK_1_DUMMY_VALID + BLOCK_2_DUMMY_VALID + BLOCK_4_DUMMY_EMPTY;
+
+        SwiftMessageReader classUnderTest = new SwiftMessageReader(new StringReader(swiftMessageText));
+        classUnderTest.setMessageFilter(SwiftMessageFilter.messageTypes("940", "950"));
+        SwiftMessageReader envelopeClassUnderTest = new SwiftMessageReader(swiftMessageText);
+        envelopeClassUnderTest.setMessageFilter(SwiftMessageFilter.messageTypes("940", "950"));
+
+        // When
+        List<SwiftMessage> messageList = classUnderTest.readAll();
+        List<SwiftMessageEnvelope> envelopeList = TestUtils.collectUntilNull(envelopeClassUnderTest::readEnvelope);
+
+        // Then
+        assertThat(messageList).hasSize(1);
+        assertThat(messageList.get(0).getContent()).isEqualTo(acceptedMessageText);
+        assertThat(envelopeList).hasSize(1);
+        assertThat(envelopeList.get(0).getMessageType()).isEqualTo("940");
+    }
+
+    @Test
+    public void read_WHEN_resilient_THEN_skip_invalid_messages() throws Exception {
+
+        // Given
+        String firstMessageText = BLOCK_1_DUMMY_VALID + BLOCK_2_DUMMY_VALID + BLOCK_4_DUMMY_EMPTY;
+        String brokenMessageText = BLOCK_1_DUMMY_VALID + BLOCK_2_DUMMY_VALID + "{4:\n-}}" + BLOCK_5_DUMMY_EMPTY;
+        String invalidMessageText = "{1:INVALID}" + BLOCK_2_DUMMY_VALID + BLOCK_4_DUMMY_EMPTY;
+        String secondMessageText = BLOCK_1_DUMMY_VALID + "{2:I940YOURBANKXJKLU3003}" + BLOCK_4_DUMMY_EMPTY;
+        String swiftMessageText = firstMessageText + "\n" + brokenMessageText + "\n" + invalidMessageText + "\n" + secondMessageText;
+
+        SwiftMessageReader classUnderTest = new SwiftMessageReader(new StringReader(swiftMessageText));
+        classUnderTest.setResilient(true);
+
+        // When
+        List<SwiftMessage> messageList = classUnderTest.readAll();
+
+        // Then
+        assertThat(messageList).extracting(SwiftMessage::getContent).containsExactly(firstMessageText, secondMessageText);
+        List<SkippedMessageRange> skippedRanges = classUnderTest.getSkippedRanges();
+        assertThat(skippedRanges).hasSize(2);
+        assertThat(skippedRanges.get(0).getStartOffset()).isEqualTo(firstMessageText.length());
+        assertThat(skippedRanges.get(0).getEndOffset()).isEqualTo(swiftMessageText.indexOf(invalidMessageText));
+        assertThat(skippedRanges.get(0).getLineNumber()).isEqualTo(4);
+        assertThat(skippedRanges.get(1).getStartOffset()).isEqualTo(swiftMessageText.indexOf(invalidMessageText));
+        assertThat(skippedRanges.get(1).getEndOffset()).isEqualTo(swiftMessageText.indexOf(secondMessageText));
+        assertThat(skippedRanges.get(1).getLineNumber()).isEqualTo(5);
+    }
+
+    @Test
+    public void read_WHEN_resilient_and_filtered_THEN_exclude_filtered_messages_from_skipped_range() throws Exception {
+
+        // Given
+        String mt940MessageText = BLOCK_1_DUMMY_VALID + "{2:I940YOURBANKXJKLU3003}" + BLOCK_4_DUMMY_EMPTY;
+        String mt942MessageText = BLOCK_1_DUMMY_VALID + "{2:I942YOURBANKXJKLU3003}" + BLOCK_4_DUMMY_EMPTY;
+        String brokenMessageText = BLOCK_1_DUMMY_VALID + "{2:I940YOURBANKXJKLU3003}" + "{4:\n-}}" + BLOCK_5_DUMMY_EMPTY;
+        String swiftMessageText = mt940MessageText + "\n" + mt942MessageText + "\n" + mt942MessageText + "\n"
+                + brokenMessageText + "\n" + mt940MessageText;
+        int brokenMessageStartOffset = swiftMessageText.indexOf(brokenMessageText);
+
+        SwiftMessageReader classUnderTest = new SwiftMessageReader(new StringReader(swiftMessageText));
+        classUnderTest.setMessageFilter(SwiftMessageFilter.messageTypes("940"));
+        classUnderTest.setResilient(true);
+
+        // When
+        List<SwiftMessage> messageList = classUnderTest.readAll();
+
+        // Then
+        assertThat(messageList).extracting(SwiftMessage::getContent).containsExactly(mt940MessageText, mt940MessageText);
+        List<SkippedMessageRange> skippedRanges = classUnderTest.getSkippedRanges();
+        assertThat(skippedRanges).hasSize(1);
+        assertThat(skippedRanges.get(0).getStartOffset()).isEqualTo(brokenMessageStartOffset - 1);
+        assertThat(skippedRanges.get(0).getEndOffset()).isEqualTo(swiftMessageText.lastIndexOf(mt940MessageText));
+    }
+
+    @Test
+    public void read_WHEN_resilient_and_block_is_unclosed_THEN_continue_at_next_message() throws Exception {
+
+        // Given
+        String messageText = BLOCK_1_DUMMY_VALID + BLOCK_2_DUMMY_VALID + BLOCK_4_DUMMY_EMPTY;
+        String unclosedMessageText = BLOCK_1_DUMMY_VALID + BLOCK_2_DUMMY_VALID + "{4:\n:20:REF\n";
+        String swiftMessageText = messageText + "\n" + unclosedMessageText + "\n" + messageText + "\n" + messageText + "\n" + messageText;
+
+        SwiftMessageReader classUnderTest = new SwiftMessageReader(new StringReader(swiftMessageText));
+        classUnderTest.setResilient(true);
+
+        // When
+        List<SwiftMessage> messageList = classUnderTest.readAll();
+
+        // Then
+        assertThat(messageList).hasSize(4);
+        assertThat(classUnderTest.getSkippedRanges()).hasSize(1);
+        SkippedMessageRange skippedRange = classUnderTest.getSkippedRanges().get(0);
+        assertThat(skippedRange.getStartOffset()).isEqualTo(messageText.length());
+        assertThat(skippedRange.getEndOffset()).isEqualTo(messageText.length() + 1 + unclosedMessageText.length() + 1);
+        assertThat(skippedRange.getLineNumber()).isEqualTo(6);
+        assertThat(skippedRange.toString()).contains("Unclosed '{'");
+    }
+
+    @Test
+    public void read_WHEN_resilient_and_stream_contains_non_ascii_bytes_THEN_skip_invalid_message() throws Exception {
+
+        // Given
+        String invalidMessageText = BLOCK_1_DUMMY_VALID + BLOCK_2_DUMMY_VALID + "{4:\n:20:\u00e4\n-}";
+        String messageText = BLOCK_1_DUMMY_VALID + BLOCK_2_DUMMY_VALID + BLOCK_4_DUMMY_EMPTY;
+        String swiftMessageText = invalidMessageText + "\n" + messageText;
+
+        SwiftMessageReader classUnderTest = new SwiftMessageReader(new ByteArrayInputStream(swiftMessageText.getBytes(StandardCharsets.ISO_8859_1)));
+        classUnderTest.setResilient(true);
+
+        // When
+        List<SwiftMessage> messageList = classUnderTest.readAll();
+
+        // Then
+        assertThat(messageList).extracting(SwiftMessage::getContent).containsExactly(messageText);
+        assertThat(classUnderTest.getSkippedRanges()).hasSize(1);
+        SkippedMessageRange skippedRange = classUnderTest.getSkippedRanges().get(0);
+        assertThat(skippedRange.getStartOffset()).isEqualTo(0);
+        assertThat(skippedRange.getEndOffset()).isEqualTo(invalidMessageText.length() + 1);
+        assertThat(skippedRange.getLineNumber()).isEqualTo(2);
+        assertThat(skippedRange.getException()).hasMessageContaining("0xE4");
+    }
+
+    @Test
+    public void read_WHEN_handler_is_given_THEN_report_blocks_and_fields() throws Exception {
+
+        // Given
+        String swiftMessageText = BLOCK_1_DUMMY_VALID + BLOCK_2_DUMMY_VALID
+                + "{4:\n:20:REF\n:86:first\nsecond\n-\n:20:NEXT\n-}" + BLOCK_5_DUMMY_EMPTY;
+
+        SwiftMessageReader classUnderTest = new SwiftMessageReader(new StringReader(swiftMessageText));
+
+        List<String> eventList = new ArrayList<>();
+        SwiftMessageHandler handler = new SwiftMessageHandler() {
+            @Override
+            public void onBlock(String blockId, CharSequence content) {
+                eventList.add("block " + blockId);
+            }
+
+            @Override
+            public void onField(String tag, CharSequence content) {
+                eventList.add(tag + "=" + content);
+            }
+
+            @Override
+            public void onPageEnd() {
+                eventList.add("page end");
+            }
+
+            @Override
+            public void onMessageEnd() {
+                eventList.add("message end");
+            }
+        };
+
+        // When
+        boolean messageRead = classUnderTest.read(handler);
+
+        // Then
+        assertThat(messageRead).isTrue();
+        assertThat(eventList).containsExactly(
+                "block 1", "block 2", "block 4",
+                "20=REF", "86=first\nsecond", "page end",
+                "20=NEXT", "page end",
+                "block 5", "message end");
+        assertThat(classUnderTest.read(handler)).isFalse();
+    }
+
+    @Test
+    public void read_WHEN_handler_is_given_and_field_is_invalid_THEN_throw_exception() throws Exception {
+
+        // Given
+        String swiftMessageText = BLOCK_1_DUMMY_VALID + "\n" + BLOCK_2_DUMMY_VALID + "{4:\nno field\n-}";
+
+        SwiftMessageReader classUnderTest = new SwiftMessageReader(new StringReader(swiftMessageText));
+
+        // When
+        Throwable exception = catchThrowable(() -> classUnderTest.read(new SwiftMessageHandler() {
+        }));
+
+        // Then
+        assertThat(exception).isInstanceOf(SwiftMessageParseException.class);
+        assertThat(((SwiftMessageParseException) exception).getLineNumber()).isEqualTo(3);
+    }
+
+    @Test
+    public void read_WHEN_handler_is_given_and_resilient_THEN_skip_invalid_messages() throws Exception {
+
+        // Given
+        String messageText = BLOCK_1_DUMMY_VALID + BLOCK_2_DUMMY_VALID + "{4:\n:20:REF\n-}";
+        String invalidMessageText = BLOCK_1_DUMMY_VALID + BLOCK_2_DUMMY_VALID + "{4:\nno field\n-}";
+        String swiftMessageText = messageText + "\n" + invalidMessageText + "\n" + messageText;
+
+        SwiftMessageReader classUnderTest = new SwiftMessageReader(swiftMessageText);
+        classUnderTest.setResilient(true);
+
+        List<String> eventList = new ArrayList<>();
+        SwiftMessageHandler handler = new SwiftMessageHandler() {
+            @Override
+            public void onField(String tag, CharSequence content) {
+                eventList.add(tag + "=" + content);
+            }
+
+            @Override
+            public void onMessageEnd() {
+                eventList.add("message end");
+            }
+
+            @Override
+            public void onMessageSkipped(SwiftMessageParseException exception) {
+                eventList.add("message skipped");
+            }
+        };
+
+        // When
+        int messageCount = 0;
+        while (classUnderTest.read(handler)) {
+            messageCount++;
+        }
+
+        // Then
+        assertThat(messageCount).isEqualTo(2);
+        assertThat(eventList).containsExactly("20=REF", "message end", "message skipped", "20=REF", "message end");
+        List<SkippedMessageRange> skippedRanges = classUnderTest.getSkippedRanges();
+        assertThat(skippedRanges).hasSize(1);
+        assertThat(skippedRanges.get(0).getStartOffset()).isEqualTo(messageText.length());
+        assertThat(skippedRanges.get(0).getEndOffset()).isEqualTo(swiftMessageText.lastIndexOf(messageText));
+        assertThat(skippedRanges.get(0).getLineNumber()).isEqualTo(5);
+    }
+
+}
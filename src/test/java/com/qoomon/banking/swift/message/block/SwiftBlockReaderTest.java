@@ -1,11 +1,14 @@
 package com.qoomon.banking.swift.message.block;
 
+import com.google.common.base.Strings;
 import com.qoomon.banking.TestUtils;
 import com.qoomon.banking.swift.message.block.exception.BlockParseException;
 import org.assertj.core.api.Assertions;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
@@ -52,6 +55,43 @@ public class SwiftBlockReaderTest {
         assertThat(exception).isInstanceOf(BlockParseException.class);
     }
 
+    @Test
+    public void readBlock_WHEN_block_contains_message_start_at_line_start_THEN_read_block() throws Exception {
+        // Given
+
+        String blockText = "{5:\n{1:abc}}";
+
+        SwiftBlockReader subjectUnderTest = new SwiftBlockReader(new StringReader(blockText));
+
+        // When
+        GeneralBlock block = subjectUnderTest.readBlock();
+
+        // Then
+
+        assertThat(block.getId()).isEqualTo("5");
+        assertThat(block.getContent()).isEqualTo("\n{1:abc}");
+    }
+
+    @Test
+    public void readBlock_WHEN_message_start_ends_block_THEN_throw_exception_at_message_start() throws Exception {
+        // Given
+
+        String blockText = "{4:\n:20:REF\n{1:abc}";
+
+        SwiftBlockReader subjectUnderTest = new SwiftBlockReader(new StringReader(blockText));
+        subjectUnderTest.setMessageStartEndsBlock(true);
+
+        // When
+        Throwable exception = catchThrowable(subjectUnderTest::readBlock);
+        subjectUnderTest.resync();
+
+        // Then
+
+        assertThat(exception).isInstanceOf(BlockParseException.class);
+        assertThat(((BlockParseException) exception).getLineNumber()).isEqualTo(3);
+        assertThat(subjectUnderTest.readBlock().getContent()).isEqualTo("abc");
+    }
+
     @Test
     public void readBlock_SHOULD_handle_CRLF_line_endings() throws Exception {
         // Given
@@ -122,4 +162,175 @@ public class SwiftBlockReaderTest {
         assertThat(blockList.get(2).getContent()).isEqualTo("c");
     }
 
-}
\ No newline at end of file
+    @Test
+    public void readBlock_SHOULD_read_blocks_exceeding_read_buffer() throws Exception {
+        // Given
+        String longContent = Strings.repeat("abc\n", 5000);
+        String blockText = "{1:a}{4:" + longContent + "}{5:{CHK:123}}";
+
+        SwiftBlockReader subjectUnderTest = new SwiftBlockReader(new StringReader(blockText));
+
+        // When
+        List<GeneralBlock> blockList = TestUtils.collectUntilNull(subjectUnderTest::readBlock);
+
+        // Then
+        assertThat(blockList).hasSize(3);
+        assertThat(blockList.get(1).getId()).isEqualTo("4");
+        assertThat(blockList.get(1).getContent()).isEqualTo(longContent);
+        assertThat(blockList.get(2).getId()).isEqualTo("5");
+        assertThat(blockList.get(2).getContent()).isEqualTo("{CHK:123}");
+        assertThat(subjectUnderTest.getLineNumber()).isEqualTo(5001);
+    }
+
+    @Test
+    public void readBlock_WHEN_block_id_is_missing_THROW_exception_with_line_number() throws Exception {
+        // Given
+        String blockText = "{1:a}\n{:b}";
+
+        SwiftBlockReader subjectUnderTest = new SwiftBlockReader(new StringReader(blockText));
+
+        // When
+        Throwable exception = catchThrowable(() -> TestUtils.collectUntilNull(subjectUnderTest::readBlock));
+
+        // Then
+        assertThat(exception).isInstanceOf(BlockParseException.class);
+        assertThat(((BlockParseException) exception).getLineNumber()).isEqualTo(2);
+    }
+
+    @Test
+    public void readBlock_WHEN_reading_char_sequence_THEN_return_blocks_backed_by_that_sequence() throws Exception {
+        // Given
+        String longContent = Strings.repeat("abc\n", 5000);
+        String blockText = "{1:a} {4:" + longContent + "}{5:{CHK:123}}";
+
+        SwiftBlockReader subjectUnderTest = new SwiftBlockReader(blockText);
+
+        // When
+        List<GeneralBlock> blockList = TestUtils.collectUntilNull(subjectUnderTest::readBlock);
+
+        // Then
+        assertThat(blockList).hasSize(3);
+        assertThat(blockList.get(0).getContent()).isEqualTo("a");
+        assertThat(blockList.get(1).getContentLength()).isEqualTo(longContent.length());
+        assertThat(blockList.get(1).getContentSequence().toString()).isEqualTo(longContent);
+        assertThat(blockList.get(1).getContent()).isEqualTo(longContent);
+        assertThat(blockList.get(2).getContent()).isEqualTo("{CHK:123}");
+    }
+
+    @Test
+    public void readBlock_WHEN_reading_char_sequence_SHOULD_handle_CRLF_line_endings() throws Exception {
+        // Given
+        String blockText = "{1:a}\r\n{4:\r\n-}";
+
+        SwiftBlockReader subjectUnderTest = new SwiftBlockReader(blockText);
+
+        // When
+        List<GeneralBlock> blockList = TestUtils.collectUntilNull(subjectUnderTest::readBlock);
+
+        // Then
+        assertThat(blockList).hasSize(2);
+        assertThat(blockList.get(1).getId()).isEqualTo("4");
+        assertThat(blockList.get(1).getContent()).isEqualTo("\n-");
+        assertThat(subjectUnderTest.getLineNumber()).isEqualTo(3);
+    }
+
+    @Test
+    public void readBlock_WHEN_reading_byte_stream_THEN_return_blocks() throws Exception {
+        // Given
+        String blockText = "{1:a}\r\n{2:b}{3:{108:c}}{4:\r\n-}";
+
+        SwiftBlockReader subjectUnderTest = new SwiftBlockReader(new ByteArrayInputStream(blockText.getBytes(StandardCharsets.US_ASCII)));
+
+        // When
+        List<GeneralBlock> blockList = TestUtils.collectUntilNull(subjectUnderTest::readBlock);
+
+        // Then
+        assertThat(blockList).hasSize(4);
+        assertThat(blockList.get(0).getContent()).isEqualTo("a");
+        assertThat(blockList.get(1).getContent()).isEqualTo("b");
+        assertThat(blockList.get(2).getContent()).isEqualTo("{108:c}");
+        assertThat(blockList.get(3).getContent()).isEqualTo("\n-");
+    }
+
+    @Test
+    public void readBlock_WHEN_byte_stream_contains_non_ascii_character_THROW_exception() throws Exception {
+        // Given
+        String blockText = "{1:a}\n{4:\n:86:Gr\u00FC\u00DFe\n-}";
+
+        SwiftBlockReader subjectUnderTest = new SwiftBlockReader(new ByteArrayInputStream(blockText.getBytes(StandardCharsets.UTF_8)));
+
+        // When
+        Throwable exception = catchThrowable(() -> TestUtils.collectUntilNull(subjectUnderTest::readBlock));
+
+        // Then
+        assertThat(exception).isInstanceOf(BlockParseException.class);
+        assertThat(((BlockParseException) exception).getLineNumber()).isEqualTo(3);
+    }
+
+    @Test
+    public void skipBlock_SHOULD_skip_blocks_after_peeking_block_id() throws Exception {
+        // Given
+        String blockText = "{1:a}\r\n{4:\r\n:20:{x}\r\n-}{5:c}";
+
+        for (SwiftBlockReader subjectUnderTest : new SwiftBlockReader[]{
+                new SwiftBlockReader(new StringReader(blockText)),
+                new SwiftBlockReader(blockText)}) {
+
+            // When
+            String firstBlockId = subjectUnderTest.peekBlockId();
+            GeneralBlock firstBlock = subjectUnderTest.readBlock();
+            String secondBlockId = subjectUnderTest.peekBlockId();
+            boolean secondBlockSkipped = subjectUnderTest.skipBlock();
+            long secondBlockStartOffset = subjectUnderTest.getBlockStartOffset();
+            long secondBlockEndOffset = subjectUnderTest.getBlockEndOffset();
+            int secondBlockLineNumber = subjectUnderTest.getBlockLineNumber();
+            GeneralBlock thirdBlock = subjectUnderTest.readBlock();
+
+            // Then
+            assertThat(firstBlockId).isEqualTo("1");
+            assertThat(firstBlock.getContent()).isEqualTo("a");
+            assertThat(secondBlockId).isEqualTo("4");
+            assertThat(secondBlockSkipped).isTrue();
+            assertThat(blockText.substring((int) secondBlockStartOffset, (int) secondBlockEndOffset)).isEqualTo("{4:\r\n:20:{x}\r\n-}");
+            assertThat(secondBlockLineNumber).isEqualTo(2);
+            assertThat(thirdBlock.getId()).isEqualTo("5");
+            assertThat(thirdBlock.getContent()).isEqualTo("c");
+            assertThat(subjectUnderTest.peekBlockId()).isNull();
+            assertThat(subjectUnderTest.skipBlock()).isFalse();
+        }
+    }
+
+    @Test
+    public void readBlock_WHEN_ascii_only_and_sequence_contains_non_ascii_character_THEN_throw_exception() throws Exception {
+        // Given
+        String blockText = "{1:a}\n{2:\u00e4}";
+
+        SwiftBlockReader subjectUnderTest = new SwiftBlockReader(blockText);
+        subjectUnderTest.setAsciiOnly(true);
+        GeneralBlock firstBlock = subjectUnderTest.readBlock();
+
+        // When
+        Throwable exception = catchThrowable(subjectUnderTest::readBlock);
+
+        // Then
+        assertThat(firstBlock.getContent()).isEqualTo("a");
+        assertThat(exception).isInstanceOf(BlockParseException.class).hasMessageContaining("0xE4");
+        assertThat(((BlockParseException) exception).getLineNumber()).isEqualTo(2);
+    }
+
+    @Test
+    public void skipBlock_WHEN_block_id_is_missing_THROW_exception() throws Exception {
+        // Given
+        String blockText = "{1:a}{b}";
+
+        SwiftBlockReader subjectUnderTest = new SwiftBlockReader(new StringReader(blockText));
+        subjectUnderTest.skipBlock();
+
+        // When
+        Throwable exception = catchThrowable(subjectUnderTest::skipBlock);
+
+        // Then
+        assertThat(exception).isInstanceOf(BlockParseException.class);
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.qoomon.banking.swift.notation;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class SwiftDecimalFormatterTest {
+
+    @Test
+    public void parse_SHOULD_keep_fraction_digits_as_scale() throws Exception {
+
+        // Given
+        String numberText = "1234,50";
+
+        // When
+        BigDecimal number = SwiftDecimalFormatter.parse(numberText);
+
+        // Then
+        assertThat(number).isEqualTo(new BigDecimal("1234.50"));
+    }
+
+    @Test
+    public void parse_SHOULD_accept_numbers_beyond_long() throws Exception {
+
+        // Given
+        String numberText = "123456789012345678901234567890,123";
+
+        // When
+        BigDecimal number = SwiftDecimalFormatter.parse(numberText);
+
+        // Then
+        assertThat(number).isEqualTo(new BigDecimal("123456789012345678901234567890.123"));
+    }
+
+    @Test
+    public void parse_WHEN_decimal_separator_is_missing_THEN_throw_exception() throws Exception {
+
+        // Given
+        String numberText = "1234";
+
+        // When
+        Throwable exception = catchThrowable(() -> SwiftDecimalFormatter.parse(numberText));
+
+        // Then
+        assertThat(exception).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void parseUnscaled_SHOULD_scale_to_requested_scale() throws Exception {
+
+        // Given
+        String numberText = "12,3";
+
+        // When
+        long unscaledValue = SwiftDecimalFormatter.parseUnscaled(numberText, 2);
+
+        // Then
+        assertThat(unscaledValue).isEqualTo(1230L);
+    }
+
+    @Test
+    public void parseUnscaled_WHEN_value_has_more_fraction_digits_than_scale_THEN_throw_exception() throws Exception {
+
+        // Given
+        String numberText = "12,345";
+
+        // When
+        Throwable exception = catchThrowable(() -> SwiftDecimalFormatter.parseUnscaled(numberText, 2));
+
+        // Then
+        assertThat(exception).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    public void format_SHOULD_strip_trailing_fraction_zeros_and_always_show_separator() throws Exception {
+
+        // Given
+        BigDecimal number = new BigDecimal("100.00");
+
+        // When
+        String numberText = SwiftDecimalFormatter.format(number);
+
+        // Then
+        assertThat(numberText).isEqualTo("100,");
+    }
+
+    @Test
+    public void formatTo_SHOULD_format_unscaled_value() throws Exception {
+
+        // Given
+        StringBuilder builder = new StringBuilder();
+
+        // When
+        SwiftDecimalFormatter.formatTo(builder, -1005, 3);
+
+        // Then
+        assertThat(builder.toString()).isEqualTo("-1,005");
+    }
+
+}
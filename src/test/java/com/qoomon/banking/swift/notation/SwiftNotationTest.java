@@ -2,6 +2,7 @@ package com.qoomon.banking.swift.notation;
 
 import org.junit.Test;
 
+import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
@@ -73,6 +74,124 @@ public class SwiftNotationTest {
 
     }
 
+    @Test
+    public void parse_SHOULD_accept_colon_in_front_of_subfield_characters() throws Exception {
+
+        // Given
+
+        String swiftFieldNotation = "3!a[/2n]";
+
+        String fieldText = ":A:BC/12";
+
+        // When
+
+        List<String> fieldValueList = new SwiftNotation(swiftFieldNotation).parse(fieldText);
+
+        // Then
+
+        assertThat(fieldValueList).containsExactly(":A:BC", "12");
+
+    }
+
+    @Test
+    public void parse_SHOULD_end_multiline_subfield_in_front_of_final_line_break() throws Exception {
+
+        // Given
+
+        String swiftFieldNotation = "2*3x";
+
+        String fieldText = "AB\nCDE\r\n";
+
+        // When
+
+        Throwable thrown = catchThrowable(() -> {new SwiftNotation(swiftFieldNotation).parse(fieldText); });
+
+        // then
+        assertThat(thrown).isInstanceOf(FieldNotationParseException.class)
+                .hasFieldOrPropertyWithValue("index", 6);
+
+    }
+
+    @Test
+    public void parse_WHEN_multiline_subfield_exceeds_line_count_THEN_throw_exception() throws Exception {
+
+        // Given
+
+        String swiftFieldNotation = "6*65x"; // Tag 86 - Information to Account Owner
+
+        String fieldText = String.join("\n", Collections.nCopies(7, "LINE"));
+
+        // When
+
+        Throwable thrown = catchThrowable(() -> {new SwiftNotation(swiftFieldNotation).parse(fieldText); });
+
+        // then
+        assertThat(thrown).isInstanceOf(FieldNotationParseException.class)
+                .hasFieldOrPropertyWithValue("index", 0);
+
+    }
+
+    @Test
+    public void parseInto_SHOULD_record_sub_field_bounds() throws Exception {
+
+        // Given
+
+        String swiftFieldNotation = "5n[/5n][//3a]";
+
+        String fieldText = "123//ABC";
+
+        int[] bounds = new int[6];
+
+        // When
+
+        new SwiftNotation(swiftFieldNotation).parseInto(fieldText, bounds);
+
+        // Then
+
+        assertThat(bounds).containsExactly(0, 3, -1, -1, 5, 8);
+
+    }
+
+    @Test
+    public void renderTo_SHOULD_append_rendered_field() throws Exception {
+
+        // Given
+
+        SwiftNotation classUnderTest = new SwiftNotation("5n[/5n][//3a]");
+
+        StringBuilder builder = new StringBuilder(":28C:");
+
+        // When
+
+        classUnderTest.renderTo(builder, "123", null, "ABC");
+        Throwable thrown = catchThrowable(() -> classUnderTest.renderTo(builder, "123", "ABC", null));
+
+        // Then
+
+        assertThat(builder.toString()).isEqualTo(":28C:123//ABC");
+        assertThat(thrown).isInstanceOf(FieldNotationParseException.class)
+                .hasFieldOrPropertyWithValue("index", 3);
+
+    }
+
+    @Test
+    public void of_SHOULD_share_compiled_notations() throws Exception {
+
+        // Given
+
+        String swiftFieldNotation = "1!a6!n3!a15d"; // balance fields
+
+        // When
+
+        SwiftNotation swiftNotation = SwiftNotation.of(swiftFieldNotation);
+
+        // Then
+
+        assertThat(SwiftNotation.of(new String(swiftFieldNotation))).isSameAs(swiftNotation);
+        assertThat(swiftNotation.getNotation()).isEqualTo(swiftFieldNotation);
+
+    }
+
     @Test
     public void parse_SHOULD_parse_range_notation() throws Exception {
 
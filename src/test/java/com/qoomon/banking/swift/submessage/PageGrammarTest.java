@@ -0,0 +1,76 @@
+package com.qoomon.banking.swift.submessage;
+
+import com.qoomon.banking.swift.submessage.field.FieldTag;
+import org.junit.Test;
+
+import static com.qoomon.banking.swift.submessage.PageGrammar.*;
+import static com.qoomon.banking.swift.submessage.field.FieldTag.*;
+import static org.assertj.core.api.Assertions.*;
+
+public class PageGrammarTest {
+
+    @Test
+    public void next_SHOULD_follow_optional_and_repeated_elements() throws Exception {
+
+        // Given
+        PageGrammar classUnderTest = PageGrammar.of(
+                field(TAG_20),
+                optional(field(TAG_21)),
+                repeated(field(TAG_61), optional(field(TAG_86))),
+                optional(field(TAG_86)),
+                field(SEPARATOR));
+
+        // When
+        int state = START_STATE;
+        for (FieldTag fieldTag : new FieldTag[]{TAG_20, TAG_61, TAG_86, TAG_61, TAG_61, TAG_86, TAG_86}) {
+            state = classUnderTest.next(state, fieldTag);
+            assertThat(state).as("state after " + fieldTag).isNotEqualTo(INVALID_STATE);
+        }
+
+        // Then
+        assertThat(FieldTag.tagsOf(classUnderTest.getExpectedFieldTags(state))).containsExactly("-");
+        assertThat(classUnderTest.next(state, TAG_61)).isEqualTo(INVALID_STATE);
+    }
+
+    @Test
+    public void getExpectedFieldTags_SHOULD_return_tags_of_valid_next_fields() throws Exception {
+
+        // Given
+        PageGrammar classUnderTest = PageGrammar.of(
+                field(TAG_20),
+                optional(field(TAG_21)),
+                field(TAG_25),
+                field(SEPARATOR));
+
+        // When
+        int state = classUnderTest.next(START_STATE, TAG_20);
+
+        // Then
+        assertThat(FieldTag.tagsOf(classUnderTest.getExpectedFieldTags(START_STATE))).containsExactly("20");
+        assertThat(FieldTag.tagsOf(classUnderTest.getExpectedFieldTags(state))).containsExactly("21", "25");
+        assertThat(classUnderTest.next(state, SEPARATOR)).isEqualTo(INVALID_STATE);
+    }
+
+    @Test
+    public void next_SHOULD_follow_one_of_alternative_elements() throws Exception {
+
+        // Given
+        PageGrammar classUnderTest = PageGrammar.of(
+                field(TAG_20),
+                oneOf(
+                        sequence(field(TAG_61), field(TAG_86)),
+                        optional(field(TAG_90D))),
+                field(SEPARATOR));
+
+        // When
+        int state = classUnderTest.next(START_STATE, TAG_20);
+
+        // Then
+        assertThat(FieldTag.tagsOf(classUnderTest.getExpectedFieldTags(state))).containsExactlyInAnyOrder("61", "90D", "-");
+        int transactionState = classUnderTest.next(state, TAG_61);
+        assertThat(classUnderTest.next(transactionState, SEPARATOR)).isEqualTo(INVALID_STATE);
+        assertThat(classUnderTest.next(classUnderTest.next(transactionState, TAG_86), SEPARATOR)).isNotEqualTo(INVALID_STATE);
+        assertThat(classUnderTest.next(classUnderTest.next(state, TAG_90D), TAG_86)).isEqualTo(INVALID_STATE);
+    }
+
+}
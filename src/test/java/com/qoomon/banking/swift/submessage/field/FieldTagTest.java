@@ -0,0 +1,41 @@
+package com.qoomon.banking.swift.submessage.field;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class FieldTagTest {
+
+    @Test
+    public void of_SHOULD_intern_known_tags() throws Exception {
+
+        // Given
+        char[] line = ":62F:C160130EUR1,00".toCharArray();
+
+        // When
+        FieldTag fieldTag = FieldTag.of(line, 1, 4);
+
+        // Then
+        assertThat(fieldTag).isEqualTo(FieldTag.TAG_62F);
+        assertThat(fieldTag.getTag()).isSameAs(ClosingBalance.FIELD_TAG_62F);
+        assertThat(FieldTag.of(line, 1, 3)).isEqualTo(FieldTag.UNKNOWN);
+        assertThat(FieldTag.of("62F")).isEqualTo(FieldTag.TAG_62F);
+        assertThat(FieldTag.of("99")).isEqualTo(FieldTag.UNKNOWN);
+    }
+
+    @Test
+    public void tagsOf_SHOULD_return_tags_of_mask() throws Exception {
+
+        // Given
+        long mask = FieldTag.maskOf(FieldTag.TAG_86, FieldTag.TAG_61, FieldTag.SEPARATOR);
+
+        // When
+        Iterable<String> tags = FieldTag.tagsOf(mask);
+
+        // Then
+        assertThat(tags).containsExactly("61", "86", "-");
+        assertThat(FieldTag.TAG_61.isContainedIn(mask)).isTrue();
+        assertThat(FieldTag.UNKNOWN.isContainedIn(mask)).isFalse();
+    }
+
+}
@@ -5,6 +5,7 @@ import org.joda.money.BigMoney;
 import org.joda.money.CurrencyUnit;
 import org.junit.Test;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 
 import static org.assertj.core.api.Assertions.*;
@@ -57,4 +58,60 @@ public class OpeningBalanceTest {
         assertThat(signedAmount).isEqualTo(amount);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void getSignedAmountMinorUnits_WHEN_debit_transaction_THEN_return_negative_minor_units() throws Exception {
+        // Given
+        GeneralField generalField = new GeneralField(OpeningBalance.FIELD_TAG_60F, "D160717EUR123,4");
+        OpeningBalance classUnderTest = OpeningBalance.of(generalField);
+
+        // When
+        long signedAmountMinorUnits = classUnderTest.getSignedAmountMinorUnits();
+
+        // Then
+        assertThat(signedAmountMinorUnits).isEqualTo(-12340L);
+        assertThat(classUnderTest.getSignedAmount()).isEqualTo(BigMoney.of(CurrencyUnit.EUR, new BigDecimal("-123.4")));
+    }
+
+    @Test
+    public void of_WHEN_created_with_minor_units_THEN_render_amount() throws Exception {
+        // Given
+        OpeningBalance classUnderTest = new OpeningBalance(OpeningBalance.Type.OPENING, LocalDate.of(2016, 7, 17),
+                DebitCreditMark.CREDIT,
+                CurrencyUnit.EUR, 12305L);
+
+        // When
+        String content = classUnderTest.getContent();
+
+        // Then
+        assertThat(content).isEqualTo("C160717EUR123,05");
+    }
+
+    @Test
+    public void getAmountMinorUnits_WHEN_amount_has_more_fraction_digits_than_currency_THEN_throw_exception() throws Exception {
+        // Given
+        GeneralField generalField = new GeneralField(OpeningBalance.FIELD_TAG_60F, "C160717EUR1,234");
+        OpeningBalance classUnderTest = OpeningBalance.of(generalField);
+
+        // When
+        Throwable exception = catchThrowable(classUnderTest::getAmountMinorUnits);
+
+        // Then
+        assertThat(exception).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    public void getAmount_WHEN_amount_exceeds_long_THEN_keep_amount() throws Exception {
+        // Given
+        BigMoney amount = BigMoney.of(CurrencyUnit.EUR, new BigDecimal("12345678901234567890.5"));
+
+        // When
+        OpeningBalance classUnderTest = new OpeningBalance(OpeningBalance.Type.OPENING, LocalDate.now(),
+                DebitCreditMark.DEBIT,
+                amount);
+
+        // Then
+        assertThat(classUnderTest.getAmount()).isSameAs(amount);
+        assertThat(catchThrowable(classUnderTest::getSignedAmountMinorUnits)).isInstanceOf(ArithmeticException.class);
+    }
+
+}
@@ -4,6 +4,7 @@ import com.qoomon.banking.swift.submessage.field.subfield.DebitCreditMark;
 import com.qoomon.banking.swift.submessage.field.subfield.DebitCreditType;
 import com.qoomon.banking.swift.submessage.field.subfield.TransactionTypeIdentificationCode;
 import org.assertj.core.api.Assertions;
+import org.joda.money.CurrencyUnit;
 import org.junit.Test;
 
 import java.math.BigDecimal;
@@ -118,4 +119,18 @@ public class StatementLineTest {
         // Then
         Assertions.assertThat(signedAmount).isEqualTo(amount.negate());
     }
-}
\ No newline at end of file
+    @Test
+    public void getSignedAmountMinorUnits_WHEN_regular_debit_transaction_THEN_return_negative_minor_units() throws Exception {
+        // Given
+        GeneralField generalField = new GeneralField(StatementLine.FIELD_TAG_61, "160130" + "D" + "123,4" + "NSTO" + "abcdef");
+        StatementLine classUnderTest = StatementLine.of(generalField);
+
+        // When
+        long signedAmountMinorUnits = classUnderTest.getSignedAmountMinorUnits(CurrencyUnit.EUR);
+
+        // Then
+        assertThat(signedAmountMinorUnits).isEqualTo(-12340L);
+        assertThat(classUnderTest.getSignedAmount()).isEqualTo(new BigDecimal("-123.4"));
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.qoomon.banking.swift.submessage.field;
+
+import com.qoomon.banking.TestUtils;
+import com.qoomon.banking.swift.submessage.PageSeparator;
+import com.qoomon.banking.swift.submessage.field.exception.FieldParseException;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class SwiftFieldReaderTest {
+
+    @Test
+    public void readField_SHOULD_read_fields_with_continuation_lines() throws Exception {
+
+        // Given
+        String fieldText = ":20:ref\r\n:86:first\r\nsecond\n:third\r-";
+
+        SwiftFieldReader classUnderTest = new SwiftFieldReader(new StringReader(fieldText));
+
+        // When
+        List<GeneralField> fieldList = TestUtils.collectUntilNull(classUnderTest::readField);
+
+        // Then
+        assertThat(fieldList).extracting(GeneralField::getTag).containsExactly("20", "86", PageSeparator.TAG);
+        assertThat(fieldList).extracting(GeneralField::getContent).containsExactly("ref", "first\nsecond\n:third", "");
+        assertThat(classUnderTest.getFieldLineNumber()).isEqualTo(4);
+    }
+
+    @Test
+    public void readField_WHEN_text_range_is_given_THEN_read_fields_of_range_only() throws Exception {
+
+        // Given
+        String text = "{4:\n:20:ref\r\n:86:first\nsecond\n-}";
+
+        SwiftFieldReader classUnderTest = new SwiftFieldReader(new StringBuilder(text), 4, text.length() - 1);
+
+        // When
+        List<GeneralField> fieldList = TestUtils.collectUntilNull(classUnderTest::readField);
+
+        // Then
+        assertThat(fieldList).extracting(GeneralField::getTag).containsExactly("20", "86", PageSeparator.TAG);
+        assertThat(fieldList).extracting(GeneralField::getContent).containsExactly("ref", "first\nsecond", "");
+    }
+
+    @Test
+    public void readField_WHEN_first_line_is_no_field_THEN_throw_exception() throws Exception {
+
+        // Given
+        String fieldText = ":20:ref\n-\nno field";
+
+        SwiftFieldReader classUnderTest = new SwiftFieldReader(new StringReader(fieldText));
+        classUnderTest.readField();
+
+        // When
+        Throwable exception = catchThrowable(classUnderTest::readField);
+
+        // Then
+        assertThat(exception).isInstanceOf(FieldParseException.class);
+        assertThat(((FieldParseException) exception).getLineNumber()).isEqualTo(3);
+    }
+
+}
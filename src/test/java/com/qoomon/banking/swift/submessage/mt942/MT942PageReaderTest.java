@@ -337,4 +337,78 @@ public class MT942PageReaderTest {
         assertThat(creditFloorLimitIndicator.getAmount()).isEqualTo(BigMoney.of(USD, new BigDecimal("123")));
     }
 
+    @Test
+    public void parse_WHEN_page_ends_with_transaction_information_THROW_exception() throws Exception {
+
+        // Given
+        String mt942MessageText = "" +
+                ":20:02761\n" +
+                ":25:6-9412771\n" +
+                ":28C:1/1\n" +
+                ":34F:USD123,\n" +
+                ":13D:0001032359+0500\n" +
+                ":61:0312091211D880,FTRFBPHP/081203/0003//59512112915002\n" +
+                ":86:transaction info\n" +
+                "-";
+
+        MT942PageReader classUnderTest = new MT942PageReader(new StringReader(mt942MessageText));
+
+        // When
+        Throwable exception = catchThrowable(classUnderTest::read);
+
+        // Then
+        assertThat(exception).isInstanceOf(SwiftMessageParseException.class);
+    }
+
+    @Test
+    public void parse_WHEN_transaction_information_is_followed_by_page_information_RETURN_message() throws Exception {
+
+        // Given
+        String mt942MessageText = "" +
+                ":20:02761\n" +
+                ":25:6-9412771\n" +
+                ":28C:1/1\n" +
+                ":34F:USD123,\n" +
+                ":13D:0001032359+0500\n" +
+                ":61:0312091211D880,FTRFBPHP/081203/0003//59512112915002\n" +
+                ":86:transaction info\n" +
+                ":86:page info\n" +
+                "-";
+
+        MT942PageReader classUnderTest = new MT942PageReader(new StringReader(mt942MessageText));
+
+        // When
+        List<MT942Page> pageList = TestUtils.collectUntilNull(classUnderTest::read);
+
+        // Then
+        assertThat(pageList).hasSize(1);
+        MT942Page mt942Page = pageList.get(0);
+        assertThat(mt942Page.getTransactionGroupList()).hasSize(1);
+        assertThat(mt942Page.getTransactionGroupList().get(0).getInformationToAccountOwner()).isPresent();
+        assertThat(mt942Page.getInformationToAccountOwner()).isPresent();
+    }
+
+    @Test
+    public void parse_WHEN_second_floor_limit_follows_floor_limit_without_debit_mark_THROW_exception() throws Exception {
+
+        // Given
+        String mt942MessageText = "" +
+                ":20:02761\n" +
+                ":25:6-9412771\n" +
+                ":28C:1/1\n" +
+                ":34F:USD123,\n" +
+                ":34F:USDC123,\n" +
+                ":13D:0001032359+0500\n" +
+                "-";
+
+        MT942PageReader classUnderTest = new MT942PageReader(new StringReader(mt942MessageText));
+
+        // When
+        Throwable exception = catchThrowable(classUnderTest::read);
+
+        // Then
+        assertThat(exception).isInstanceOf(SwiftMessageParseException.class);
+        assertThat(((SwiftMessageParseException) exception).getLineNumber()).isEqualTo(5);
+    }
+
 }